@@ -1,7 +1,12 @@
 package com.example.bookstore.admin.controller;
 
+import com.example.bookstore.admin.dto.AdminCacheStatsResponse;
+import com.example.bookstore.admin.dto.AdminCoalescingStatsResponse;
 import com.example.bookstore.admin.dto.AdminStatsSummaryResponse;
 import com.example.bookstore.admin.dto.AdminUserStatsResponse;
+import com.example.bookstore.book.cache.BookCache;
+import com.example.bookstore.book.cache.BookQueryCoalescer;
+import com.example.bookstore.book.cache.ResponseBytesCache;
 import com.example.bookstore.book.repository.BookRepository;
 import com.example.bookstore.common.response.ApiResponse;
 import com.example.bookstore.order.repository.OrderRepository;
@@ -9,6 +14,7 @@ import com.example.bookstore.review.repository.ReviewRepository;
 import com.example.bookstore.user.entity.User;
 import com.example.bookstore.user.entity.UserStatus;
 import com.example.bookstore.user.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -29,15 +35,24 @@ public class AdminStatsController {
     private final BookRepository bookRepository;
     private final OrderRepository orderRepository;
     private final ReviewRepository reviewRepository;
+    private final BookCache bookCache;
+    private final BookQueryCoalescer bookQueryCoalescer;
+    private final ResponseBytesCache responseBytesCache;
 
     public AdminStatsController(UserRepository userRepository,
                                 BookRepository bookRepository,
                                 OrderRepository orderRepository,
-                                ReviewRepository reviewRepository) {
+                                ReviewRepository reviewRepository,
+                                BookCache bookCache,
+                                BookQueryCoalescer bookQueryCoalescer,
+                                ResponseBytesCache responseBytesCache) {
         this.userRepository = userRepository;
         this.bookRepository = bookRepository;
         this.orderRepository = orderRepository;
         this.reviewRepository = reviewRepository;
+        this.bookCache = bookCache;
+        this.bookQueryCoalescer = bookQueryCoalescer;
+        this.responseBytesCache = responseBytesCache;
     }
 
     /**
@@ -120,4 +135,75 @@ public class AdminStatsController {
 
         return ApiResponse.success(response);
     }
+
+    /**
+     * 애플리케이션 내부 캐시 통계 (적중/미스/축출 횟수)
+     * GET /api/admin/stats/cache
+     */
+    @GetMapping("/cache")
+    @Operation(
+            summary = "캐시 통계 조회",
+            description = "도서 캐시(books), 목록 응답 바이트 캐시(responses) 등 애플리케이션 내부 캐시의 크기, 적중/미스/축출 횟수, 적중률을 조회합니다."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "캐시 통계 조회 성공",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ApiResponse<List<AdminCacheStatsResponse>> getCacheStats() {
+
+        CacheStats books = bookCache.stats();
+        AdminCacheStatsResponse bookStats = new AdminCacheStatsResponse(
+                "books",
+                bookCache.size(),
+                books.hitCount(),
+                books.missCount(),
+                books.evictionCount(),
+                books.hitRate()
+        );
+
+        CacheStats responses = responseBytesCache.stats();
+        AdminCacheStatsResponse responseStats = new AdminCacheStatsResponse(
+                "responses",
+                responseBytesCache.size(),
+                responses.hitCount(),
+                responses.missCount(),
+                responses.evictionCount(),
+                responses.hitRate()
+        );
+
+        return ApiResponse.success(List.of(bookStats, responseStats));
+    }
+
+    /**
+     * 동시 요청 합치기(single-flight) 통계
+     * GET /api/admin/stats/coalescing
+     */
+    @GetMapping("/coalescing")
+    @Operation(
+            summary = "동시 요청 합치기 통계 조회",
+            description = "인기 목록 조회별 전체 호출 수와, 진행 중인 같은 조회에 합쳐져 DB 조회를 건너뛴 호출 수를 조회합니다."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "동시 요청 합치기 통계 조회 성공",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ApiResponse<List<AdminCoalescingStatsResponse>> getCoalescingStats() {
+
+        List<AdminCoalescingStatsResponse> stats = bookQueryCoalescer.flights().stream()
+                .map(flight -> new AdminCoalescingStatsResponse(
+                        flight.getName(),
+                        flight.getCalls(),
+                        flight.getCoalesced(),
+                        (flight.getCalls() == 0) ? 0.0 : (double) flight.getCoalesced() / flight.getCalls()
+                ))
+                .toList();
+
+        return ApiResponse.success(stats);
+    }
 }
@@ -0,0 +1,35 @@
+package com.example.bookstore.admin.dto;
+
+public class AdminCoalescingStatsResponse {
+
+    private String name;
+    private long calls;
+    private long coalesced;
+    private double savedRate;
+
+    public AdminCoalescingStatsResponse(String name,
+                                        long calls,
+                                        long coalesced,
+                                        double savedRate) {
+        this.name = name;
+        this.calls = calls;
+        this.coalesced = coalesced;
+        this.savedRate = savedRate;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    public double getSavedRate() {
+        return savedRate;
+    }
+}
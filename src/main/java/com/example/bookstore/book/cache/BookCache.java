@@ -0,0 +1,114 @@
+package com.example.bookstore.book.cache;
+
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.index.CatalogIndex;
+import com.example.bookstore.book.repository.BookRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 도서 단건 조회 read-through 캐시 (Caffeine, W-TinyLFU)
+ * - 최대 개수 + 쓰기 후 TTL 로 제한한다. 자주 안 읽히는 도서는 들어오더라도 먼저 밀려난다.
+ * - 캐시에는 로딩한 엔티티의 복사본(Book.copy)을 넣는다. 호출자의 트랜잭션 안에서 로딩되더라도
+ *   그 트랜잭션의 managed 인스턴스를 공유하지 않으므로, 커밋 전 변경이나 롤백된 값이 캐시로 새지 않는다.
+ * - 캐시에서 꺼낸 Book 은 읽기 전용으로만 쓴다.
+ *   값을 바꿔야 하는 곳(평점/리뷰 수 갱신 등)은 bookRepository 로 직접 조회한다.
+ * - 무효화: 쓰기 경로가 BookChangedEvent 를 발행하면 CatalogIndexSynchronizer 가 커밋 후 upsert/remove 를 호출한다.
+ */
+@Component
+public class BookCache implements CatalogIndex {
+
+    private final BookRepository bookRepository;
+    private final Cache<Long, Book> cache;
+
+    public BookCache(BookRepository bookRepository,
+                     @Value("${bookstore.cache.book.max-size:10000}") long maxSize,
+                     @Value("${bookstore.cache.book.ttl-ms:600000}") long ttlMillis) {
+        this.bookRepository = bookRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 캐시에 있으면 바로, 없으면 DB 에서 읽어 넣는다. (없는 도서는 캐시하지 않음)
+     * 같은 id 를 동시에 요청해도 DB 조회는 한 번만 한다.
+     * - 쓰기 트랜잭션 안에서는 캐시를 채우지 않는다. (그 트랜잭션이 바꾼 뒤 롤백될 값이 캐시에 남지 않도록)
+     */
+    public Optional<Book> find(Long bookId) {
+        if (inWriteTransaction()) {
+            Book cached = cache.getIfPresent(bookId);
+            return cached != null ? Optional.of(cached) : bookRepository.findById(bookId).map(Book::copy);
+        }
+        return Optional.ofNullable(cache.get(bookId, id -> bookRepository.findById(id).map(Book::copy).orElse(null)));
+    }
+
+    /**
+     * 여러 건 조회: 캐시에 없는 id 만 모아서 findAllById 한 번으로 읽어 넣는다.
+     * - 결과 맵에는 찾은 도서만 들어 있다. (없는 도서는 캐시하지 않음)
+     */
+    public Map<Long, Book> findAll(Collection<Long> bookIds) {
+        if (inWriteTransaction()) {
+            Map<Long, Book> found = new HashMap<>(cache.getAllPresent(bookIds));
+            List<Long> missing = bookIds.stream().filter(id -> !found.containsKey(id)).toList();
+            if (!missing.isEmpty()) {
+                found.putAll(load(missing));
+            }
+            return found;
+        }
+        return cache.getAll(bookIds, missing -> load(List.copyOf(missing)));
+    }
+
+    private Map<Long, Book> load(List<Long> bookIds) {
+        Map<Long, Book> loaded = new HashMap<>();
+        for (Book book : bookRepository.findAllById(bookIds)) {
+            loaded.put(book.getId(), book.copy());
+        }
+        return loaded;
+    }
+
+    private static boolean inWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    public void invalidate(Long bookId) {
+        cache.invalidate(bookId);
+    }
+
+    @Override
+    public void rebuild(List<Book> books) {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void upsert(Book book) {
+        cache.invalidate(book.getId());
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        cache.invalidate(bookId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
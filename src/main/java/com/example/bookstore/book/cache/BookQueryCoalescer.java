@@ -0,0 +1,53 @@
+package com.example.bookstore.book.cache;
+
+import com.example.bookstore.book.dto.BookSummary;
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.repository.BookRepository;
+import com.example.bookstore.common.concurrent.SingleFlight;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 인기 목록 조회의 동시 요청 합치기 (single-flight)
+ * - 목록이 만료되거나 트래픽이 몰릴 때 같은 조건의 쿼리가 동시에 수십 번 나가지 않도록
+ *   진행 중인 조회 하나의 결과를 함께 쓴다.
+ * - 단건(findById)은 BookCache(Caffeine get) 가 같은 id 로딩을 이미 하나로 합친다.
+ */
+@Component
+public class BookQueryCoalescer {
+
+    private final BookRepository bookRepository;
+
+    private final SingleFlight<Integer> bestSellers = new SingleFlight<>("bestSellers");
+    private final SingleFlight<Integer> latest = new SingleFlight<>("latest");
+    private final SingleFlight<Integer> recommendations = new SingleFlight<>("recommendations");
+
+    public BookQueryCoalescer(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    public List<Book> findBestSellerBooks(int limit) {
+        return bestSellers.run(limit, () -> bookRepository.findBestSellerBooks(limit));
+    }
+
+    public List<BookSummary> findLatestBooks(int size) {
+        return latest.run(size, () -> bookRepository
+                .findSummaries(PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt")))
+                .getContent());
+    }
+
+    /**
+     * 추천 응답 전체(베스트셀러 + 평점 상위)를 size 별로 합친다.
+     */
+    public <T> T recommendations(int size, Supplier<T> loader) {
+        return recommendations.run(size, loader);
+    }
+
+    public List<SingleFlight<Integer>> flights() {
+        return List.of(bestSellers, latest, recommendations);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.bookstore.book.cache;
+
+import com.example.bookstore.book.index.BookChangedEvent;
+import com.example.bookstore.common.response.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 익명 공통 목록 응답(추천/최신/평점 상위)의 직렬화된 JSON 바이트 캐시
+ * - "엔드포인트?파라미터" 별로 ApiResponse 전체를 한 번만 JSON 으로 만들어 두고,
+ *   적중하면 Jackson 을 거치지 않고 byte[] 를 그대로 응답에 쓴다. (ByteArrayHttpMessageConverter)
+ * - gzip 이 켜져 있으면 압축본도 미리 만들어 두고, Accept-Encoding: gzip 요청에는 압축본을 준다.
+ * - 무효화: 도서 변경(BookChangedEvent, 재고만 바뀐 경우 제외) 커밋 후 전체 무효화. 메모리 인덱스(리더보드 등)가 먼저 갱신되도록
+ *   CatalogIndexSynchronizer 보다 뒤에 실행된다. 주문으로 바뀌는 베스트셀러는 ttl-ms 만큼 늦게 반영될 수 있다.
+ * - 무효화 중에 진행 중이던 조회 결과는 이전 세대 키로 들어가므로 다시 읽히지 않는다.
+ */
+@Component
+public class ResponseBytesCache {
+
+    // 이보다 작은 응답은 압축하지 않음 (헤더/CPU 대비 이득 없음)
+    private static final int GZIP_MIN_BYTES = 512;
+
+    private final ObjectMapper objectMapper;
+    private final boolean gzipEnabled;
+    private final Cache<String, CachedResponse> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseBytesCache(ObjectMapper objectMapper,
+                              @Value("${bookstore.cache.response.max-size:500}") long maxSize,
+                              @Value("${bookstore.cache.response.ttl-ms:30000}") long ttlMillis,
+                              @Value("${bookstore.cache.response.gzip:true}") boolean gzipEnabled) {
+        this.objectMapper = objectMapper;
+        this.gzipEnabled = gzipEnabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * key 에 해당하는 ApiResponse.success(payload) JSON 바이트 응답
+     * - 캐시에 없을 때만 loader 를 실행하고 직렬화한다. (같은 key 동시 요청은 한 번만 실행)
+     */
+    public ResponseEntity<byte[]> respond(String key, String acceptEncoding, Supplier<?> loader) {
+        CachedResponse cached = cache.get(generation.get() + ":" + key, k -> encode(loader.get()));
+
+        boolean gzip = cached.gzipped != null
+                && acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        byte[] body = gzip ? cached.gzipped : cached.json;
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+
+    // 리더보드 등 CatalogIndex 갱신(CatalogIndexSynchronizer) 이 끝난 뒤에 무효화
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onBookChanged(BookChangedEvent event) {
+        // 캐시하는 응답(BookSummary 등)에는 재고가 없으므로 재고 변경은 무시
+        if (event.isStockOnly()) {
+            return;
+        }
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private CachedResponse encode(Object payload) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success(payload));
+            byte[] gzipped = (gzipEnabled && json.length >= GZIP_MIN_BYTES) ? gzip(json) : null;
+            return new CachedResponse(json, gzipped);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답 직렬화 실패", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class CachedResponse {
+        final byte[] json;
+        final byte[] gzipped;
+
+        CachedResponse(byte[] json, byte[] gzipped) {
+            this.json = json;
+            this.gzipped = gzipped;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.bookstore.book.controller;
 
-import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.dto.BookSummary;
+import com.example.bookstore.book.inventory.HotInventory;
+import com.example.bookstore.book.inventory.HotInventory.HotInventoryStatus;
 import com.example.bookstore.book.repository.BookRepository;
+import com.example.bookstore.book.service.BookSearchService;
 import com.example.bookstore.common.response.ApiResponse;
+import com.example.bookstore.common.response.CursorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,29 +15,45 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/admin/books")
 @Tag(name = "Admin Book API", description = "관리자용 도서 관리/조회 API")
 public class AdminBookController {
 
     private final BookRepository bookRepository;
+    private final BookSearchService bookSearchService;
+    private final HotInventory hotInventory;
 
-    public AdminBookController(BookRepository bookRepository) {
+    public AdminBookController(BookRepository bookRepository,
+                               BookSearchService bookSearchService,
+                               HotInventory hotInventory) {
         this.bookRepository = bookRepository;
+        this.bookSearchService = bookSearchService;
+        this.hotInventory = hotInventory;
     }
 
     /**
      * 관리자용 도서 목록 조회 (페이지네이션)
      * 예) GET /api/admin/books?page=0&size=20&sort=id,desc
+     * 커서 모드) GET /api/admin/books?size=20&sort=id,desc&after=  -> 이후 after={nextCursor}
      */
     @GetMapping
     @Operation(
             summary = "도서 목록 조회(관리자)",
-            description = "관리자가 모든 도서 목록을 페이지네이션 형태로 조회합니다."
+            description = """
+                    관리자가 모든 도서 목록을 페이지네이션 형태로 조회합니다.
+                    after 파라미터를 주면 page 대신 커서(keyset) 방식으로 조회합니다. (깊은 페이지도 일정한 속도)
+                    """
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -49,10 +69,82 @@ public class AdminBookController {
                     description = "관리자 권한이 없는 경우 접근 불가"
             )
     })
-    public ApiResponse<Page<Book>> getBooks(
-            @Parameter(hidden = true) Pageable pageable
+    public ApiResponse<?> getBooks(
+            @Parameter(hidden = true) Pageable pageable,
+
+            @Parameter(description = "커서 페이지 토큰 (첫 페이지는 빈 값, 이후 응답의 nextCursor)")
+            @RequestParam(name = "after", required = false) String after
     ) {
-        Page<Book> page = bookRepository.findAll(pageable);
+        if (after != null) {
+            CursorResponse<BookSummary> response = bookSearchService
+                    .scroll(null, null, pageable.getSort(), pageable.getPageSize(), after)
+                    .map(BookSummary::from);
+            return ApiResponse.success(response);
+        }
+
+        // 요약 컬럼만 DTO 로 바로 조회 (엔티티 직렬화 X)
+        Page<BookSummary> page = bookRepository.findSummaries(pageable);
         return ApiResponse.success(page);
     }
+
+    /**
+     * 핫 재고(플래시 세일) 모드 켜기
+     * - 주문이 books 행 대신 메모리 stripe 카운터에서 재고를 차감한다. (DB 재고는 블록 단위로 임대)
+     * 예) PUT /api/admin/books/1/hot-inventory
+     */
+    @PutMapping("/{bookId}/hot-inventory")
+    @Operation(
+            summary = "핫 재고 모드 켜기(관리자)",
+            description = "출시일 등 주문이 한 도서에 몰릴 때, 재고를 메모리 카운터에서 차감하도록 전환합니다."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "핫 재고 모드 전환 성공",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = HotInventoryStatus.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "도서를 찾을 수 없음"
+            )
+    })
+    public ApiResponse<HotInventoryStatus> enableHotInventory(
+            @Parameter(description = "도서 ID", example = "1")
+            @PathVariable Long bookId
+    ) {
+        return ApiResponse.success(hotInventory.enable(bookId));
+    }
+
+    /**
+     * 핫 재고 모드 끄기 (남은 임대분은 DB 재고로 반납)
+     * 예) DELETE /api/admin/books/1/hot-inventory
+     */
+    @DeleteMapping("/{bookId}/hot-inventory")
+    @Operation(
+            summary = "핫 재고 모드 끄기(관리자)",
+            description = "메모리에 임대해 둔 재고를 DB 재고로 돌려놓고 일반 재고 차감으로 되돌립니다."
+    )
+    public ApiResponse<Void> disableHotInventory(
+            @Parameter(description = "도서 ID", example = "1")
+            @PathVariable Long bookId
+    ) {
+        hotInventory.disable(bookId);
+        return ApiResponse.success(null);
+    }
+
+    /**
+     * 핫 재고 모드 도서 목록 (메모리에 임대해 둔 수량)
+     * 예) GET /api/admin/books/hot-inventory
+     */
+    @GetMapping("/hot-inventory")
+    @Operation(
+            summary = "핫 재고 모드 도서 목록(관리자)",
+            description = "핫 재고 모드인 도서와 stripe 수, 메모리에 임대해 둔 남은 수량을 조회합니다."
+    )
+    public ApiResponse<List<HotInventoryStatus>> getHotInventory() {
+        return ApiResponse.success(hotInventory.statuses());
+    }
 }
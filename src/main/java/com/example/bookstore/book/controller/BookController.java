@@ -1,32 +1,89 @@
 package com.example.bookstore.book.controller;
 
+import com.example.bookstore.book.cache.BookCache;
+import com.example.bookstore.book.cache.BookQueryCoalescer;
+import com.example.bookstore.book.cache.ResponseBytesCache;
+import com.example.bookstore.book.dto.BookResponseDto.BookDetailResponse;
+import com.example.bookstore.book.dto.BookSummary;
 import com.example.bookstore.book.entity.Book;
 import com.example.bookstore.book.repository.BookRepository;
+import com.example.bookstore.book.search.AutocompleteIndex;
+import com.example.bookstore.book.search.BookFilter;
+import com.example.bookstore.book.search.Completion;
+import com.example.bookstore.book.search.Facet;
+import com.example.bookstore.book.search.FacetCount;
+import com.example.bookstore.book.search.SearchMode;
+import com.example.bookstore.book.search.TopRatedLeaderboard;
+import com.example.bookstore.book.service.BookExportService;
+import com.example.bookstore.book.service.BookSearchPage;
+import com.example.bookstore.book.service.BookSearchService;
+import com.example.bookstore.common.exception.BusinessException;
+import com.example.bookstore.common.exception.ErrorCode;
 import com.example.bookstore.common.response.ApiResponse;
+import com.example.bookstore.common.response.CursorResponse;
+import com.example.bookstore.common.response.SliceResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.*;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/books")
 @Tag(name = "Books API", description = "도서 조회 / 카테고리 / 상세 / 추천 / 검색 API")
 public class BookController {
 
-    private final BookRepository bookRepository;
+    private static final int MAX_BATCH_IDS = 300;
+    // 추천 응답 바이트 캐시 키에 들어가는 size 상한 (size 마다 캐시 항목이 따로 생기므로)
+    private static final int MAX_RECOMMENDATION_SIZE = 100;
+    static final String NDJSON = "application/x-ndjson";
 
-    public BookController(BookRepository bookRepository) {
+    private final BookRepository bookRepository;
+    private final BookSearchService bookSearchService;
+    private final AutocompleteIndex autocompleteIndex;
+    private final BookCache bookCache;
+    private final TopRatedLeaderboard topRatedLeaderboard;
+    private final BookQueryCoalescer bookQueryCoalescer;
+    private final BookExportService bookExportService;
+    private final ResponseBytesCache responseBytesCache;
+
+    public BookController(BookRepository bookRepository,
+                          BookSearchService bookSearchService,
+                          AutocompleteIndex autocompleteIndex,
+                          BookCache bookCache,
+                          TopRatedLeaderboard topRatedLeaderboard,
+                          BookQueryCoalescer bookQueryCoalescer,
+                          BookExportService bookExportService,
+                          ResponseBytesCache responseBytesCache) {
         this.bookRepository = bookRepository;
+        this.bookSearchService = bookSearchService;
+        this.autocompleteIndex = autocompleteIndex;
+        this.bookCache = bookCache;
+        this.topRatedLeaderboard = topRatedLeaderboard;
+        this.bookQueryCoalescer = bookQueryCoalescer;
+        this.bookExportService = bookExportService;
+        this.responseBytesCache = responseBytesCache;
     }
 
     /**
      * 전체 도서 목록 조회
+     * - 엔티티가 아니라 요약 컬럼만 JPQL 에서 바로 DTO 로 받는다. (영속성 컨텍스트 X)
      */
     @GetMapping
     @Operation(
@@ -40,11 +97,34 @@ public class BookController {
                     content = @Content(mediaType = "application/json")
             )
     })
-    public ApiResponse<List<Book>> getAllBooks() {
-        List<Book> books = bookRepository.findAll();
+    public ApiResponse<List<BookSummary>> getAllBooks() {
+        List<BookSummary> books = bookRepository.findAllSummaries();
         return ApiResponse.success(books);
     }
 
+    /**
+     * 전체 도서 내보내기 (NDJSON 스트리밍)
+     * - 전체 목록을 List 로 만들지 않고 DB 에서 읽는 대로 한 줄씩 응답에 쓴다.
+     * 예) curl /api/books/export > books.ndjson
+     */
+    @GetMapping(value = "/export", produces = BookController.NDJSON)
+    @Operation(
+            summary = "전체 도서 내보내기 (NDJSON)",
+            description = "전체 도서를 id 순으로 한 줄에 하나씩(application/x-ndjson) 스트리밍합니다. ApiResponse 로 감싸지 않습니다."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "도서 내보내기 성공",
+                    content = @Content(mediaType = BookController.NDJSON)
+            )
+    })
+    public void exportBooks(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        bookExportService.export(response.getOutputStream());
+    }
+
     /**
      * 카테고리별 도서 목록 조회
      */
@@ -64,11 +144,11 @@ public class BookController {
                     description = "잘못된 카테고리 ID 요청"
             )
     })
-    public ApiResponse<List<Book>> getByCategory(
+    public ApiResponse<List<BookSummary>> getByCategory(
             @Parameter(description = "카테고리 ID", example = "1")
             @PathVariable Long categoryId
     ) {
-        List<Book> books = bookRepository.findByCategoryId(categoryId);
+        List<BookSummary> books = bookRepository.findSummariesByCategoryId(categoryId);
         return ApiResponse.success(books);
     }
 
@@ -91,19 +171,82 @@ public class BookController {
                     description = "해당 ID의 도서를 찾을 수 없음"
             )
     })
-    public ApiResponse<Book> getBook(
+    public ApiResponse<BookDetailResponse> getBook(
             @Parameter(description = "도서 ID", example = "1")
             @PathVariable Long bookId
     ) {
-        Book book = bookRepository.findById(bookId)
+        // 캐시된 엔티티를 응답 DTO 로 옮겨 담아서 반환 (엔티티를 그대로 직렬화하지 않음)
+        Book book = bookCache.find(bookId)
                 .orElseThrow(() -> new IllegalArgumentException("도서를 찾을 수 없습니다. id = " + bookId));
-        return ApiResponse.success(book);
+        return ApiResponse.success(BookDetailResponse.from(book));
+    }
+
+    /**
+     * 여러 도서 한 번에 조회 (장바구니/위시리스트)
+     * - 캐시에 없는 id 만 findAllById 한 번으로 읽는다.
+     * - 요청한 id 순서 그대로, 없는 도서는 found=false 로 표시
+     * 예) /api/books/batch?ids=3,1,2
+     */
+    @GetMapping("/batch")
+    @Operation(
+            summary = "도서 여러 건 조회",
+            description = "ids 로 전달한 도서를 한 번에 조회합니다. 요청 순서대로 반환하며, 없는 도서는 found=false 입니다. (최대 "
+                    + MAX_BATCH_IDS + "개)"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "도서 여러 건 조회 성공",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BookBatchItem.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "ids 가 비어 있거나, 숫자가 아닌/빈 id 포함, 최대 개수 초과"
+            )
+    })
+    public ApiResponse<List<BookBatchItem>> getBooksByIds(
+            @Parameter(description = "도서 ID 목록 (쉼표 구분)", example = "1,2,3")
+            @RequestParam String ids
+    ) {
+        List<Long> bookIds = parseBatchIds(ids);
+
+        Map<Long, Book> books = bookCache.findAll(new LinkedHashSet<>(bookIds));
+
+        List<BookBatchItem> items = new ArrayList<>(bookIds.size());
+        for (Long id : bookIds) {
+            items.add(new BookBatchItem(id, books.get(id)));
+        }
+        return ApiResponse.success(items);
+    }
+
+    // 쉼표로 구분된 ids 파싱 (빈 값/숫자가 아닌 값은 캐시 조회 전에 400)
+    private static List<Long> parseBatchIds(String ids) {
+        String[] tokens = ids.split(",", -1);
+        if (ids.isBlank() || tokens.length > MAX_BATCH_IDS) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM,
+                    "ids 는 1 ~ " + MAX_BATCH_IDS + "개까지 요청할 수 있습니다.");
+        }
+
+        List<Long> bookIds = new ArrayList<>(tokens.length);
+        for (String token : tokens) {
+            try {
+                bookIds.add(Long.parseLong(token.trim()));
+            } catch (NumberFormatException e) {
+                throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM,
+                        "ids 에 유효하지 않은 도서 ID 가 있습니다: '" + token + "'");
+            }
+        }
+        return bookIds;
     }
 
     /**
      * 추천 도서 목록 조회
      * - 주문 기반 베스트셀러
      * - 평점/리뷰 수 기준 상위 도서
+     * - 직렬화된 응답 바이트를 size 별로 캐시 (ResponseBytesCache)
      */
     @GetMapping("/recommendations")
     @Operation(
@@ -117,23 +260,70 @@ public class BookController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "200",
                     description = "추천 도서 목록 조회 성공",
-                    content = @Content(mediaType = "application/json")
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BookRecommendationResponse.class)
+                    )
             )
     })
-    public ApiResponse<BookRecommendationResponse> getRecommendations(
-            @Parameter(description = "가져올 도서 수 (기본 10)", example = "10")
-            @RequestParam(name = "size", defaultValue = "10") int size
+    public ResponseEntity<byte[]> getRecommendations(
+            @Parameter(description = "가져올 도서 수 (기본 10, 최대 " + MAX_RECOMMENDATION_SIZE + ")", example = "10")
+            @RequestParam(name = "size", defaultValue = "10") int size,
+
+            @Parameter(hidden = true)
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
-        if (size <= 0) size = 10;
+        int limit = (size <= 0) ? 10 : Math.min(size, MAX_RECOMMENDATION_SIZE);
 
-        // (1) 주문 기반 베스트셀러
-        List<Book> bestSellers = bookRepository.findBestSellerBooks(size);
+        return responseBytesCache.respond("recommendations?size=" + limit, acceptEncoding, () ->
+                // 같은 size 의 동시 요청은 조회 한 번의 결과를 같이 쓴다.
+                bookQueryCoalescer.recommendations(limit, () -> {
+                    // (1) 주문 기반 베스트셀러
+                    List<Book> bestSellers = bookQueryCoalescer.findBestSellerBooks(limit);
 
-        // (2) 평점/리뷰 기반 TOP 도서
-        List<Book> topRated = bookRepository.findTop10ByOrderByAverageRatingDescReviewCountDesc();
+                    // (2) 평점/리뷰 기반 TOP 도서
+                    List<Book> topRated = topRatedLeaderboard.top(10);
 
-        BookRecommendationResponse response = BookRecommendationResponse.of(bestSellers, topRated);
-        return ApiResponse.success(response);
+                    return BookRecommendationResponse.of(bestSellers, topRated);
+                })
+        );
+    }
+
+    /**
+     * 제목/저자 자동완성
+     * - 메모리 prefix trie 에서 바로 응답 (DB 조회 없음)
+     * 예) /api/books/autocomplete?q=자바&limit=5
+     */
+    @GetMapping("/autocomplete")
+    @Operation(
+            summary = "도서 자동완성",
+            description = """
+                    입력한 글자로 시작하는 도서 제목/저자를 인기도(리뷰 수 + 주문 수량) 순으로 반환합니다.
+                    제목/저자 중간 단어의 시작으로도 매칭됩니다. (예: "정석" -> "자바의 정석")
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "자동완성 후보 조회 성공",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ApiResponse<List<AutocompleteItem>> autocomplete(
+            @Parameter(description = "입력 중인 검색어", example = "자바")
+            @RequestParam(name = "q", defaultValue = "") String q,
+
+            @Parameter(description = "최대 후보 수 (최대 10)", example = "10")
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        if (limit <= 0 || limit > AutocompleteIndex.MAX_SUGGESTIONS) {
+            limit = AutocompleteIndex.MAX_SUGGESTIONS;
+        }
+
+        List<AutocompleteItem> items = autocompleteIndex.suggest(q, limit).stream()
+                .map(AutocompleteItem::from)
+                .toList();
+        return ApiResponse.success(items);
     }
 
     /**
@@ -149,6 +339,16 @@ public class BookController {
             description = """
                     키워드, 카테고리, 페이지, 정렬 조건을 이용해 도서 목록을 검색합니다.
                     sort 파라미터는 "정렬필드,정렬방향" 형식으로 전달합니다. (예: createdAt,DESC)
+                    sort=relevance 를 주면 제목/저자 BM25 관련도 순으로 정렬합니다. (키워드 필요, 제목 매칭 가중치가 더 큼)
+                    after 파라미터를 주면 page 대신 커서 방식으로 조회합니다. (첫 페이지는 after= 빈 값, 이후 nextCursor 전달)
+                    커서 방식은 전체 개수를 세지 않으며 relevance 정렬과 함께 쓸 수 없습니다.
+                    withTotal=false 면 전체 개수 없이 hasNext 만 반환합니다. (COUNT 쿼리 생략)
+                    전체 개수가 캐시된 근사값이면 exact=false 로 표시됩니다.
+                    결과가 없으면 제목/저자 사전으로 오타(편집 거리 1~2)를 교정해 다시 검색하고 didYouMean 에 교정된 검색어를 담습니다.
+                    facets=category,priceBucket,rating 을 주면 검색 결과의 패싯별 개수를 함께 반환합니다. (category 는 categoryId 필터 무시)
+                    minPrice, maxPrice, minRating, inStock, createdAfter 로 범위 필터를 걸 수 있습니다.
+                    키워드 없이 범위 필터를 쓰면 필터한 필드 중 하나로 정렬해야 합니다. (예: minPrice + sort=price,ASC, 그 외 조합은 400)
+                    mode=chosung 이면 초성(ㅈㅂㅇㅈㅅ) 또는 입력 중인 자모(자바ㅇ)로 검색합니다.
                     """
     )
     @ApiResponses({
@@ -162,7 +362,7 @@ public class BookController {
                     description = "유효하지 않은 페이지/정렬 파라미터"
             )
     })
-    public ApiResponse<PageResponse<BookSummary>> searchBooks(
+    public ApiResponse<?> searchBooks(
             @Parameter(description = "검색 키워드(제목, 저자 등 부분 일치)", example = "자바")
             @RequestParam(name = "keyword", required = false) String keyword,
 
@@ -175,9 +375,45 @@ public class BookController {
             @Parameter(description = "페이지 크기", example = "10")
             @RequestParam(name = "size", defaultValue = "10") int size,
 
-            @Parameter(description = "정렬 조건 (예: createdAt,DESC / price,ASC)", example = "createdAt,DESC")
-            @RequestParam(name = "sort", defaultValue = "createdAt,DESC") String sortParam
+            @Parameter(description = "정렬 조건 (예: createdAt,DESC / price,ASC / relevance)", example = "createdAt,DESC")
+            @RequestParam(name = "sort", defaultValue = "createdAt,DESC") String sortParam,
+
+            @Parameter(description = "커서 페이지 토큰 (첫 페이지는 빈 값, 이후 응답의 nextCursor)", example = "")
+            @RequestParam(name = "after", required = false) String after,
+
+            @Parameter(description = "전체 개수 포함 여부 (false 면 hasNext 만)", example = "true")
+            @RequestParam(name = "withTotal", defaultValue = "true") boolean withTotal,
+
+            @Parameter(description = "검색 모드 (default / chosung)", example = "default")
+            @RequestParam(name = "mode", defaultValue = "default") String modeParam,
+
+            @Parameter(description = "함께 받을 패싯 (category, priceBucket, rating 중 콤마 구분)", example = "category,priceBucket,rating")
+            @RequestParam(name = "facets", required = false) String facetsParam,
+
+            @Parameter(description = "최소 가격", example = "10000")
+            @RequestParam(name = "minPrice", required = false) Integer minPrice,
+
+            @Parameter(description = "최대 가격", example = "30000")
+            @RequestParam(name = "maxPrice", required = false) Integer maxPrice,
+
+            @Parameter(description = "최소 평균 평점 (0~5)", example = "4.0")
+            @RequestParam(name = "minRating", required = false) Double minRating,
+
+            @Parameter(description = "재고 있는 도서만", example = "true")
+            @RequestParam(name = "inStock", required = false) Boolean inStock,
+
+            @Parameter(description = "이 시각 이후 등록된 도서만 (ISO-8601)", example = "2025-01-01T00:00:00")
+            @RequestParam(name = "createdAfter", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter
     ) {
+        SearchMode mode = SearchMode.from(modeParam);
+        BookFilter filter = BookFilter.of(minPrice, maxPrice, minRating, inStock, createdAfter);
+        Set<Facet> facets = Facet.parse(facetsParam);
+        if (!facets.isEmpty() && (after != null || !withTotal)) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM,
+                    "facets 는 페이지 번호 방식(withTotal=true, after 없음) 검색에서만 지원합니다.");
+        }
+
         if (page < 0) page = 0;
         if (size <= 0) size = 10;
         if (size > 50) size = 50; // 최대 페이지 크기 제한 (성능용)
@@ -200,18 +436,73 @@ public class BookController {
             }
         }
 
+        // 커서 모드: OFFSET/COUNT 없이 마지막으로 본 (정렬 키, id) 다음부터 조회
+        if (after != null) {
+            CursorResponse<BookSummary> response = bookSearchService
+                    .scroll(keyword, categoryId, mode, filter, Sort.by(direction, property), size, after)
+                    .map(BookSummary::from);
+            return ApiResponse.success(response);
+        }
+
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, property));
 
-        Page<Book> resultPage = bookRepository.searchBooks(keyword, categoryId, pageable);
+        // 전체 개수 없이 다음 페이지 존재 여부만
+        if (!withTotal) {
+            SliceResponse<BookSummary> response = SliceResponse.from(
+                    bookSearchService.searchSlice(keyword, categoryId, mode, filter, pageable).map(BookSummary::from)
+            );
+            return ApiResponse.success(response);
+        }
+
+        // 키워드 검색은 메모리 인덱스에서 id 를 찾고, 해당 페이지만 DB 에서 조회
+        BookSearchPage result = bookSearchService.search(keyword, categoryId, mode, filter, pageable);
+
+        // 패싯은 실제로 검색한 검색어(오타 교정 시 교정된 검색어) 기준
+        String searchedKeyword = (result.getDidYouMean() != null) ? result.getDidYouMean() : keyword;
 
         PageResponse<BookSummary> response = PageResponse.from(
-                resultPage.map(BookSummary::from),
-                property + "," + direction.name()
+                result.getPage().map(BookSummary::from),
+                property + "," + direction.name(),
+                result.isExact(),
+                result.getDidYouMean(),
+                bookSearchService.facets(searchedKeyword, categoryId, mode, filter, facets)
         );
 
         return ApiResponse.success(response);
     }
 
+    // ====== DTO: 여러 건 조회 항목 ======
+    @Schema(name = "BookBatchItem", description = "도서 여러 건 조회 항목 DTO")
+    public static class BookBatchItem {
+
+        @Schema(description = "요청한 도서 ID", example = "1")
+        private Long id;
+
+        @Schema(description = "도서 존재 여부", example = "true")
+        private boolean found;
+
+        @Schema(description = "도서 정보 (없으면 null)")
+        private BookDetailResponse book;
+
+        public BookBatchItem(Long id, Book book) {
+            this.id = id;
+            this.found = (book != null);
+            this.book = (book != null) ? BookDetailResponse.from(book) : null;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public boolean isFound() {
+            return found;
+        }
+
+        public BookDetailResponse getBook() {
+            return book;
+        }
+    }
+
     // ====== DTO: 추천 응답 ======
     @Schema(name = "BookRecommendationResponse", description = "추천 도서 응답 DTO")
     public static class BookRecommendationResponse {
@@ -248,81 +539,43 @@ public class BookController {
         }
     }
 
-    // ====== DTO: 책 요약 ======
-    @Schema(name = "BookSummary", description = "도서 요약 정보 DTO")
-    public static class BookSummary {
-
-        @Schema(description = "도서 ID", example = "1")
-        private Long id;
-
-        @Schema(description = "도서 제목", example = "자바의 정석")
-        private String title;
-
-        @Schema(description = "저자명", example = "남궁성")
-        private String author;
+    // ====== DTO: 자동완성 후보 ======
+    @Schema(name = "AutocompleteItem", description = "자동완성 후보 DTO")
+    public static class AutocompleteItem {
 
-        @Schema(description = "카테고리 ID", example = "1")
-        private Long categoryId;
+        @Schema(description = "후보 문자열 (도서 제목 또는 저자명)", example = "자바의 정석")
+        private String text;
 
-        @Schema(description = "도서 가격(원)", example = "25000")
-        private int price;
+        @Schema(description = "후보 종류 (TITLE / AUTHOR)", example = "TITLE")
+        private String type;
 
-        @Schema(description = "리뷰 개수", example = "12")
-        private long reviewCount;
+        @Schema(description = "도서 ID (TITLE 인 경우만)", example = "1")
+        private Long bookId;
 
-        @Schema(description = "평균 평점", example = "4.5")
-        private double averageRating;
-
-        public BookSummary(Long id, String title, String author,
-                           Long categoryId, int price,
-                           long reviewCount, double averageRating) {
-            this.id = id;
-            this.title = title;
-            this.author = author;
-            this.categoryId = categoryId;
-            this.price = price;
-            this.reviewCount = reviewCount;
-            this.averageRating = averageRating;
-        }
-
-        public static BookSummary from(Book book) {
-            return new BookSummary(
-                    book.getId(),
-                    book.getTitle(),
-                    book.getAuthor(),
-                    book.getCategoryId(),
-                    book.getPrice(),
-                    book.getReviewCount(),
-                    book.getAverageRating()
-            );
-        }
-
-        public Long getId() {
-            return id;
-        }
-
-        public String getTitle() {
-            return title;
-        }
-
-        public String getAuthor() {
-            return author;
+        public AutocompleteItem(String text, String type, Long bookId) {
+            this.text = text;
+            this.type = type;
+            this.bookId = bookId;
         }
 
-        public Long getCategoryId() {
-            return categoryId;
+        public static AutocompleteItem from(Completion completion) {
+            return new AutocompleteItem(
+                    completion.getText(),
+                    completion.getType().name(),
+                    completion.getBookId()
+            );
         }
 
-        public int getPrice() {
-            return price;
+        public String getText() {
+            return text;
         }
 
-        public long getReviewCount() {
-            return reviewCount;
+        public String getType() {
+            return type;
         }
 
-        public double getAverageRating() {
-            return averageRating;
+        public Long getBookId() {
+            return bookId;
         }
     }
 
@@ -348,28 +601,70 @@ public class BookController {
         @Schema(description = "정렬 조건 (필드,방향)", example = "createdAt,DESC")
         private String sort;
 
+        @Schema(description = "totalElements 가 정확한 값인지 (false 면 캐시된 근사값)", example = "true")
+        private boolean exact;
+
+        @Schema(description = "검색 결과가 없어 교정된 검색어로 다시 검색한 경우 그 검색어", example = "프로그래밍")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String didYouMean;
+
+        @Schema(description = "요청한 패싯별 값/개수 (facets 파라미터를 준 경우만)")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Map<String, List<FacetCount>> facets;
+
+        public PageResponse(List<T> content,
+                            int page,
+                            int size,
+                            long totalElements,
+                            int totalPages,
+                            String sort,
+                            boolean exact) {
+            this(content, page, size, totalElements, totalPages, sort, exact, null, null);
+        }
+
         public PageResponse(List<T> content,
                             int page,
                             int size,
                             long totalElements,
                             int totalPages,
-                            String sort) {
+                            String sort,
+                            boolean exact,
+                            String didYouMean,
+                            Map<String, List<FacetCount>> facets) {
             this.content = content;
             this.page = page;
             this.size = size;
             this.totalElements = totalElements;
             this.totalPages = totalPages;
             this.sort = sort;
+            this.exact = exact;
+            this.didYouMean = didYouMean;
+            this.facets = facets;
         }
 
         public static <T> PageResponse<T> from(Page<T> page, String sort) {
+            return from(page, sort, true);
+        }
+
+        public static <T> PageResponse<T> from(Page<T> page, String sort, boolean exact) {
+            return from(page, sort, exact, null, null);
+        }
+
+        public static <T> PageResponse<T> from(Page<T> page,
+                                               String sort,
+                                               boolean exact,
+                                               String didYouMean,
+                                               Map<String, List<FacetCount>> facets) {
             return new PageResponse<>(
                     page.getContent(),
                     page.getNumber(),
                     page.getSize(),
                     page.getTotalElements(),
                     page.getTotalPages(),
-                    sort
+                    sort,
+                    exact,
+                    didYouMean,
+                    facets
             );
         }
 
@@ -396,5 +691,17 @@ public class BookController {
         public String getSort() {
             return sort;
         }
+
+        public boolean isExact() {
+            return exact;
+        }
+
+        public String getDidYouMean() {
+            return didYouMean;
+        }
+
+        public Map<String, List<FacetCount>> getFacets() {
+            return facets;
+        }
     }
 }
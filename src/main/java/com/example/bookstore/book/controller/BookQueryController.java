@@ -1,7 +1,18 @@
 package com.example.bookstore.book.controller;
 
+import com.example.bookstore.book.cache.BookCache;
+import com.example.bookstore.book.cache.BookQueryCoalescer;
+import com.example.bookstore.book.cache.ResponseBytesCache;
+import com.example.bookstore.book.dto.BookSummary;
 import com.example.bookstore.book.entity.Book;
-import com.example.bookstore.book.repository.BookRepository;
+import com.example.bookstore.book.recommend.CoPurchase;
+import com.example.bookstore.book.recommend.CoPurchaseIndex;
+import com.example.bookstore.book.search.TopRatedLeaderboard;
+import com.example.bookstore.book.trending.TrendScore;
+import com.example.bookstore.book.trending.TrendWindow;
+import com.example.bookstore.book.trending.TrendingBooks;
+import com.example.bookstore.common.exception.BusinessException;
+import com.example.bookstore.common.exception.ErrorCode;
 import com.example.bookstore.common.response.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,24 +20,46 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/books")
-@Tag(name = "Books Query API", description = "도서 추가 조회(최신/평점순) API")
+@Tag(name = "Books Query API", description = "도서 추가 조회(최신/평점순/트렌드/같이 산 도서) API")
 public class BookQueryController {
 
-    private final BookRepository bookRepository;
+    // 응답 바이트 캐시 키에 들어가는 목록 size 상한 (size 마다 캐시 항목이 따로 생기므로)
+    private static final int MAX_LIST_SIZE = 100;
 
-    public BookQueryController(BookRepository bookRepository) {
-        this.bookRepository = bookRepository;
+    private final BookQueryCoalescer bookQueryCoalescer;
+    private final TopRatedLeaderboard topRatedLeaderboard;
+    private final TrendingBooks trendingBooks;
+    private final CoPurchaseIndex coPurchaseIndex;
+    private final BookCache bookCache;
+    private final ResponseBytesCache responseBytesCache;
+
+    public BookQueryController(BookQueryCoalescer bookQueryCoalescer,
+                               TopRatedLeaderboard topRatedLeaderboard,
+                               TrendingBooks trendingBooks,
+                               CoPurchaseIndex coPurchaseIndex,
+                               BookCache bookCache,
+                               ResponseBytesCache responseBytesCache) {
+        this.bookQueryCoalescer = bookQueryCoalescer;
+        this.topRatedLeaderboard = topRatedLeaderboard;
+        this.trendingBooks = trendingBooks;
+        this.coPurchaseIndex = coPurchaseIndex;
+        this.bookCache = bookCache;
+        this.responseBytesCache = responseBytesCache;
     }
 
     /**
@@ -36,7 +69,7 @@ public class BookQueryController {
     @GetMapping("/latest")
     @Operation(
             summary = "최근 등록 도서 목록",
-            description = "등록일(createdAt) 기준으로 최신 도서를 size 개수만큼 조회합니다."
+            description = "등록일(createdAt) 기준으로 최신 도서를 size 개수만큼 조회합니다. (size 최대 " + MAX_LIST_SIZE + ")"
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -44,27 +77,33 @@ public class BookQueryController {
                     description = "최근 도서 목록 조회 성공",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = Book.class)
+                            schema = @Schema(implementation = BookSummary.class)
                     )
             )
     })
-    public ApiResponse<List<Book>> getLatestBooks(
-            @Parameter(description = "조회할 도서 개수", example = "10")
-            @RequestParam(defaultValue = "10") int size
+    public ResponseEntity<byte[]> getLatestBooks(
+            @Parameter(description = "조회할 도서 개수 (최대 " + MAX_LIST_SIZE + ")", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(hidden = true)
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
-        var pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        List<Book> books = bookRepository.findAll(pageable).getContent();
-        return ApiResponse.success(books);
+        int limit = (size <= 0) ? 10 : Math.min(size, MAX_LIST_SIZE);
+
+        // 직렬화된 응답을 size 별로 캐시, 미스일 때 같은 size 의 동시 요청은 쿼리 한 번의 결과를 같이 쓴다.
+        return responseBytesCache.respond("latest?size=" + limit, acceptEncoding,
+                () -> bookQueryCoalescer.findLatestBooks(limit));
     }
 
     /**
      * 평점 상위 도서 목록
+     * - 메모리 리더보드에서 바로 응답 (DB 조회 없음), size 는 최대 100
      * 예) GET /api/books/top-rated?size=10
      */
     @GetMapping("/top-rated")
     @Operation(
             summary = "평점 상위 도서 목록",
-            description = "평균 평점(averageRating)과 리뷰 수(reviewCount)를 기준으로 상위 도서를 조회합니다."
+            description = "평균 평점(averageRating)과 리뷰 수(reviewCount)를 기준으로 상위 도서를 조회합니다. (size 최대 100)"
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -72,19 +111,217 @@ public class BookQueryController {
                     description = "평점 상위 도서 목록 조회 성공",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = Book.class)
+                            schema = @Schema(implementation = BookSummary.class)
+                    )
+            )
+    })
+    public ResponseEntity<byte[]> getTopRatedBooks(
+            @Parameter(description = "조회할 도서 개수 (최대 100)", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(hidden = true)
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        int limit = (size <= 0) ? 10 : Math.min(size, TopRatedLeaderboard.MAX_SIZE);
+        return responseBytesCache.respond("top-rated?size=" + limit, acceptEncoding,
+                () -> topRatedLeaderboard.top(limit).stream()
+                        .map(BookSummary::from)
+                        .toList());
+    }
+
+    /**
+     * 최근 인기(트렌드) 도서 목록
+     * - 주문 수량/리뷰 활동을 지수 감쇠시킨 메모리 점수로 정렬 (주문 내역을 다시 집계하지 않음)
+     * 예) GET /api/books/trending?window=24h&size=10
+     */
+    @GetMapping("/trending")
+    @Operation(
+            summary = "트렌드 도서 목록",
+            description = """
+                    최근 주문 수량과 리뷰 활동을 시간에 따라 지수 감쇠시킨 점수 순으로 도서를 조회합니다.
+                    window(1h, 24h, 7d)는 감쇠 시간으로, 그만큼 지난 활동은 점수가 1/e 로 줄어듭니다. (size 최대 100)
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "트렌드 도서 목록 조회 성공",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TrendingBook.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "지원하지 않는 window"
+            )
+    })
+    public ApiResponse<List<TrendingBook>> getTrendingBooks(
+            @Parameter(description = "감쇠 시간 (1h, 24h, 7d)", example = "24h")
+            @RequestParam(defaultValue = "24h") String window,
+            @Parameter(description = "조회할 도서 개수 (최대 100)", example = "10")
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        if (size <= 0) size = 10;
+        TrendWindow trendWindow = TrendWindow.from(window);
+
+        List<TrendingBook> books = new ArrayList<>();
+        for (TrendScore score : trendingBooks.top(trendWindow, size)) {
+            // 그 사이 삭제된 도서는 건너뜀
+            bookCache.find(score.getBookId())
+                    .ifPresent(book -> books.add(TrendingBook.of(book, score.getScore())));
+        }
+        return ApiResponse.success(books);
+    }
+
+    /**
+     * 이 책을 산 고객이 같이 산 도서
+     * - 메모리 동시 구매 인덱스에서 응답 (주문 내역을 다시 집계하지 않음)
+     * 예) GET /api/books/1/also-bought?size=10
+     */
+    @GetMapping("/{bookId}/also-bought")
+    @Operation(
+            summary = "같이 산 도서 목록",
+            description = "해당 도서와 같은 주문에 함께 담긴 횟수가 많은 도서 순으로 조회합니다. (size 최대 top-k, 기본 20)"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "같이 산 도서 목록 조회 성공",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AlsoBoughtBook.class)
                     )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "도서를 찾을 수 없음"
             )
     })
-    public ApiResponse<List<Book>> getTopRatedBooks(
+    public ApiResponse<List<AlsoBoughtBook>> getAlsoBoughtBooks(
+            @Parameter(description = "도서 ID", example = "1")
+            @PathVariable Long bookId,
             @Parameter(description = "조회할 도서 개수", example = "10")
             @RequestParam(defaultValue = "10") int size
     ) {
-        // averageRating, reviewCount 기준으로 정렬
-        var sort = Sort.by(Sort.Direction.DESC, "averageRating")
-                .and(Sort.by(Sort.Direction.DESC, "reviewCount"));
-        var pageable = PageRequest.of(0, size, sort);
-        List<Book> books = bookRepository.findAll(pageable).getContent();
+        if (size <= 0) size = 10;
+        bookCache.find(bookId).orElseThrow(() -> new BusinessException(ErrorCode.BOOK_NOT_FOUND));
+
+        // 이웃 도서는 캐시에 없는 것만 findAllById 한 번으로 조회
+        List<CoPurchase> neighbors = coPurchaseIndex.neighbors(bookId, size);
+        Map<Long, Book> found = bookCache.findAll(neighbors.stream().map(CoPurchase::getBookId).toList());
+
+        List<AlsoBoughtBook> books = new ArrayList<>();
+        for (CoPurchase neighbor : neighbors) {
+            Book book = found.get(neighbor.getBookId());
+            if (book != null) {
+                books.add(AlsoBoughtBook.of(book, neighbor.getCount()));
+            }
+        }
         return ApiResponse.success(books);
     }
+
+    // ====== DTO: 트렌드 도서 ======
+    @Schema(name = "TrendingBook", description = "트렌드 도서 DTO")
+    public static class TrendingBook {
+
+        @Schema(description = "도서 ID", example = "1")
+        private Long id;
+
+        @Schema(description = "도서 제목", example = "자바의 정석")
+        private String title;
+
+        @Schema(description = "저자명", example = "남궁성")
+        private String author;
+
+        @Schema(description = "도서 가격(원)", example = "25000")
+        private int price;
+
+        @Schema(description = "트렌드 점수 (감쇠된 주문 수량 + 리뷰 가중치)", example = "12.5")
+        private double score;
+
+        public TrendingBook(Long id, String title, String author, int price, double score) {
+            this.id = id;
+            this.title = title;
+            this.author = author;
+            this.price = price;
+            this.score = score;
+        }
+
+        public static TrendingBook of(Book book, double score) {
+            return new TrendingBook(book.getId(), book.getTitle(), book.getAuthor(), book.getPrice(), score);
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public int getPrice() {
+            return price;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    // ====== DTO: 같이 산 도서 ======
+    @Schema(name = "AlsoBoughtBook", description = "같이 산 도서 DTO")
+    public static class AlsoBoughtBook {
+
+        @Schema(description = "도서 ID", example = "2")
+        private Long id;
+
+        @Schema(description = "도서 제목", example = "스프링 부트 입문")
+        private String title;
+
+        @Schema(description = "저자명", example = "김영한")
+        private String author;
+
+        @Schema(description = "도서 가격(원)", example = "30000")
+        private int price;
+
+        @Schema(description = "같은 주문에 함께 담긴 횟수", example = "7")
+        private int coPurchaseCount;
+
+        public AlsoBoughtBook(Long id, String title, String author, int price, int coPurchaseCount) {
+            this.id = id;
+            this.title = title;
+            this.author = author;
+            this.price = price;
+            this.coPurchaseCount = coPurchaseCount;
+        }
+
+        public static AlsoBoughtBook of(Book book, int coPurchaseCount) {
+            return new AlsoBoughtBook(book.getId(), book.getTitle(), book.getAuthor(), book.getPrice(), coPurchaseCount);
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public int getPrice() {
+            return price;
+        }
+
+        public int getCoPurchaseCount() {
+            return coPurchaseCount;
+        }
+    }
 }
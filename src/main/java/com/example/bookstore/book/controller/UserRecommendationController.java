@@ -0,0 +1,105 @@
+package com.example.bookstore.book.controller;
+
+import com.example.bookstore.auth.jwt.SecurityUtil;
+import com.example.bookstore.book.cache.BookCache;
+import com.example.bookstore.book.dto.BookSummary;
+import com.example.bookstore.book.recommend.UserRecommendations;
+import com.example.bookstore.book.recommend.UserRecommendations.RecommendedBooks;
+import com.example.bookstore.common.response.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/user")
+@Tag(name = "User Recommendation API", description = "로그인한 사용자 맞춤 도서 추천 API")
+public class UserRecommendationController {
+
+    private final UserRecommendations userRecommendations;
+    private final BookCache bookCache;
+
+    public UserRecommendationController(UserRecommendations userRecommendations,
+                                        BookCache bookCache) {
+        this.userRecommendations = userRecommendations;
+        this.bookCache = bookCache;
+    }
+
+    /**
+     * 내 맞춤 추천 도서
+     * - 배치로 미리 계산한 결과를 사용자 id 로 한 번 조회 (요청 시 계산 X)
+     * 예) GET /api/user/recommendations?size=10
+     */
+    @GetMapping("/recommendations")
+    @Operation(
+            summary = "내 맞춤 추천 도서",
+            description = """
+                    내 주문/리뷰 이력과 다른 사용자들의 동시 구매 패턴으로 계산한 추천 도서를 반환합니다.
+                    이력이 없거나 아직 계산되지 않은 사용자는 전체 인기 목록(베스트셀러 + 평점 상위)을 받고 personalized=false 입니다.
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "추천 도서 조회 성공",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = UserRecommendationResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "인증되지 않은 사용자"
+            )
+    })
+    public ApiResponse<UserRecommendationResponse> getMyRecommendations(
+            @Parameter(description = "가져올 도서 수 (기본 10)", example = "10")
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        if (size <= 0) size = 10;
+        Long userId = SecurityUtil.getCurrentUserIdOrThrow();
+        RecommendedBooks recommended = userRecommendations.forUser(userId);
+
+        List<BookSummary> books = new ArrayList<>();
+        for (Long bookId : recommended.getBookIds()) {
+            if (books.size() >= size) {
+                break;
+            }
+            bookCache.find(bookId).ifPresent(book -> books.add(BookSummary.from(book)));
+        }
+        return ApiResponse.success(new UserRecommendationResponse(recommended.isPersonalized(), books));
+    }
+
+    // ====== DTO: 맞춤 추천 응답 ======
+    @Schema(name = "UserRecommendationResponse", description = "사용자 맞춤 추천 응답 DTO")
+    public static class UserRecommendationResponse {
+
+        @Schema(description = "개인화 결과 여부 (false 면 전체 인기 목록)", example = "true")
+        private boolean personalized;
+
+        @Schema(description = "추천 도서 목록 (점수 순)")
+        private List<BookSummary> books;
+
+        public UserRecommendationResponse(boolean personalized, List<BookSummary> books) {
+            this.personalized = personalized;
+            this.books = books;
+        }
+
+        public boolean isPersonalized() {
+            return personalized;
+        }
+
+        public List<BookSummary> getBooks() {
+            return books;
+        }
+    }
+}
@@ -49,6 +49,7 @@ public class BookResponseDto {
         private String author;
         private int price;
         private int stock;
+        private Long categoryId;
         private double averageRating;
         private long reviewCount;
         private LocalDateTime createdAt;
@@ -61,6 +62,7 @@ public class BookResponseDto {
                     .author(book.getAuthor())
                     .price(book.getPrice())
                     .stock(book.getStock())
+                    .categoryId(book.getCategoryId())
                     .averageRating(book.getAverageRating())
                     .reviewCount(book.getReviewCount())
                     .createdAt(book.getCreatedAt())
@@ -0,0 +1,86 @@
+package com.example.bookstore.book.dto;
+
+import com.example.bookstore.book.entity.Book;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 도서 목록/요약 응답 DTO
+ * - 엔티티에서 옮겨 담거나(from), 목록 조회 시 JPQL 에서 바로 생성한다.
+ */
+@Schema(name = "BookSummary", description = "도서 요약 정보 DTO")
+public class BookSummary {
+
+    @Schema(description = "도서 ID", example = "1")
+    private Long id;
+
+    @Schema(description = "도서 제목", example = "자바의 정석")
+    private String title;
+
+    @Schema(description = "저자명", example = "남궁성")
+    private String author;
+
+    @Schema(description = "카테고리 ID", example = "1")
+    private Long categoryId;
+
+    @Schema(description = "도서 가격(원)", example = "25000")
+    private int price;
+
+    @Schema(description = "리뷰 개수", example = "12")
+    private long reviewCount;
+
+    @Schema(description = "평균 평점", example = "4.5")
+    private double averageRating;
+
+    // JPQL 생성자 projection (BookRepository SUMMARY_SELECT) 에서도 이 생성자를 쓴다. 인자 순서 주의
+    public BookSummary(Long id, String title, String author,
+                       Long categoryId, int price,
+                       long reviewCount, double averageRating) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.categoryId = categoryId;
+        this.price = price;
+        this.reviewCount = reviewCount;
+        this.averageRating = averageRating;
+    }
+
+    public static BookSummary from(Book book) {
+        return new BookSummary(
+                book.getId(),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getCategoryId(),
+                book.getPrice(),
+                book.getReviewCount(),
+                book.getAverageRating()
+        );
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public int getPrice() {
+        return price;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+}
@@ -53,6 +53,25 @@ public class Book {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
 
+    /**
+     * 영속성 컨텍스트와 무관한 값 복사본 (BookCache 저장용)
+     * - 트랜잭션 안에서 로딩한 managed 인스턴스를 그대로 공유하면 커밋 전 변경/롤백된 값이 캐시로 새어 나간다.
+     */
+    public Book copy() {
+        Book copy = new Book();
+        copy.id = id;
+        copy.title = title;
+        copy.author = author;
+        copy.price = price;
+        copy.stock = stock;
+        copy.categoryId = categoryId;
+        copy.averageRating = averageRating;
+        copy.reviewCount = reviewCount;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        return copy;
+    }
+
     // ===== Setter (리뷰 갱신에 필요) =====
 
     public void setAverageRating(double averageRating) {
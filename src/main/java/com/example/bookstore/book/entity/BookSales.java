@@ -0,0 +1,37 @@
+package com.example.bookstore.book.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 도서별 누적 판매 수량 (book_sales)
+ * - 주문 생성 시 BookSalesRepository.addUnits 로만 증가시킨다. (엔티티로 직접 수정하지 않음)
+ */
+@Entity
+@Table(name = "book_sales")
+public class BookSales {
+
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @Column(name = "units_sold", nullable = false)
+    private long unitsSold;
+
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    protected BookSales() {}
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public long getUnitsSold() {
+        return unitsSold;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
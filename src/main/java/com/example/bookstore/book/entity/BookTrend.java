@@ -0,0 +1,51 @@
+package com.example.bookstore.book.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * 도서별 트렌드 점수 스냅샷 (book_trends)
+ * - TrendingBooks 가 주기적으로 저장하고, 재시작 시 이 값에서 이어서 감쇠시킨다.
+ * - 점수는 scoredAt(epoch ms) 시점 기준 값이다.
+ */
+@Entity
+@Table(name = "book_trends")
+public class BookTrend {
+
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @Column(name = "score_1h", nullable = false)
+    private double score1h;
+
+    @Column(name = "score_24h", nullable = false)
+    private double score24h;
+
+    @Column(name = "score_7d", nullable = false)
+    private double score7d;
+
+    @Column(name = "scored_at", nullable = false)
+    private long scoredAt;
+
+    protected BookTrend() {}
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public double getScore1h() {
+        return score1h;
+    }
+
+    public double getScore24h() {
+        return score24h;
+    }
+
+    public double getScore7d() {
+        return score7d;
+    }
+
+    public long getScoredAt() {
+        return scoredAt;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.bookstore.book.index;
+
+/**
+ * 도서 정보(재고, 평점, 리뷰 수 등)가 변경되었음을 알리는 이벤트
+ * - 변경한 쪽에서는 bookId 만 넘기고, 각 리스너가 필요한 값을 다시 읽는다.
+ */
+public class BookChangedEvent {
+
+    private final Long bookId;
+    // 재고만 바뀐 경우 (주문 재고 차감 등). 재고를 담지 않는 목록 응답 캐시는 무효화하지 않는다.
+    private final boolean stockOnly;
+
+    public BookChangedEvent(Long bookId) {
+        this(bookId, false);
+    }
+
+    private BookChangedEvent(Long bookId, boolean stockOnly) {
+        this.bookId = bookId;
+        this.stockOnly = stockOnly;
+    }
+
+    public static BookChangedEvent stockChanged(Long bookId) {
+        return new BookChangedEvent(bookId, true);
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public boolean isStockOnly() {
+        return stockOnly;
+    }
+}
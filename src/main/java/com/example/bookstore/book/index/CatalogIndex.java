@@ -0,0 +1,27 @@
+package com.example.bookstore.book.index;
+
+import com.example.bookstore.book.entity.Book;
+
+import java.util.List;
+
+/**
+ * books 테이블을 메모리에 올려두는 인덱스/집계 구조의 공통 인터페이스
+ * - 애플리케이션 시작 시 rebuild() 로 전체 재구성
+ * - 도서가 바뀌면 upsert()/remove() 로 증분 반영
+ * (CatalogIndexSynchronizer 가 모든 구현체를 한 번에 갱신한다)
+ */
+public interface CatalogIndex {
+
+    void rebuild(List<Book> books);
+
+    void upsert(Book book);
+
+    void remove(Long bookId);
+
+    /**
+     * 재고를 담지 않는 인덱스는 true -> 재고만 바뀐 이벤트(BookChangedEvent.isStockOnly)는 전달하지 않는다.
+     */
+    default boolean ignoresStockChanges() {
+        return false;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.bookstore.book.index;
+
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 메모리 인덱스(CatalogIndex 구현체들)와 books 테이블을 동기화
+ * - 시작 시: books 전체를 한 번 읽어서 모든 인덱스를 재구성
+ * - 변경 시: 커밋이 끝난 뒤 해당 도서 1건만 다시 읽어서 증분 반영
+ * - 재고만 바뀐 이벤트는 재고를 담는 인덱스(ignoresStockChanges=false)에만 반영
+ */
+@Component
+public class CatalogIndexSynchronizer {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogIndexSynchronizer.class);
+
+    private final BookRepository bookRepository;
+    private final List<CatalogIndex> indexes;
+    private final List<CatalogIndex> stockIndexes;
+
+    public CatalogIndexSynchronizer(BookRepository bookRepository,
+                                    List<CatalogIndex> indexes) {
+        this.bookRepository = bookRepository;
+        this.indexes = indexes;
+        this.stockIndexes = indexes.stream()
+                .filter(index -> !index.ignoresStockChanges())
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        List<Book> books = bookRepository.findAll();
+
+        for (CatalogIndex index : indexes) {
+            index.rebuild(books);
+        }
+
+        log.info("[CATALOG] {} books indexed into {} indexes ({} ms)",
+                books.size(), indexes.size(), System.currentTimeMillis() - start);
+    }
+
+    // 같은 이벤트를 받는 응답 캐시(ResponseBytesCache) 무효화보다 먼저 인덱스를 갱신
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onBookChanged(BookChangedEvent event) {
+        List<CatalogIndex> targets = event.isStockOnly() ? stockIndexes : indexes;
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        Long bookId = event.getBookId();
+        Optional<Book> book = bookRepository.findById(bookId);
+
+        for (CatalogIndex index : targets) {
+            if (book.isPresent()) {
+                index.upsert(book.get());
+            } else {
+                index.remove(bookId);
+            }
+        }
+    }
+}
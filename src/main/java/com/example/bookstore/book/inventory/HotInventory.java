@@ -0,0 +1,250 @@
+package com.example.bookstore.book.inventory;
+
+import com.example.bookstore.book.index.BookChangedEvent;
+import com.example.bookstore.book.repository.BookRepository;
+import com.example.bookstore.common.exception.BusinessException;
+import com.example.bookstore.common.exception.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 플래시 세일용 핫 재고 모드 (도서별로 켜고 끔)
+ * - 켜진 도서는 주문마다 books 행을 UPDATE 하지 않고, DB 재고(stock)에서 lease-size 권씩 한 번에 임대해 와서
+ *   메모리 stripe 카운터(HotStock)에서 차감한다. 행 잠금은 임대할 때만 잡으므로 주문 수락이 코어 수만큼 늘어난다.
+ * - 임대/반납은 주문 트랜잭션과 별개인 짧은 트랜잭션으로 실행한다. (주문이 롤백되어도 임대는 유지, 수량만 되돌림)
+ * - DB stock 은 "아직 임대되지 않은 재고" 이므로 초과 판매는 없다. 대신 비정상 종료 시 임대 후 안 팔린 수량은
+ *   DB 로 돌아가지 않아 재고가 실제보다 적게 남을 수 있다. (정상 종료/모드 해제 시에는 반납)
+ * - reconcile-interval-ms 마다 남는 임대분을 반납하고, 팔린 도서만 BookChangedEvent 로 캐시/인덱스 재고를 갱신한다.
+ * - 캐시/검색 인덱스의 재고(inStock 필터 포함)는 DB stock 기준이라 임대분은 빠진다. 임대 중인 도서는 실제보다 적게 보이고,
+ *   DB 재고를 모두 임대하면 메모리에 남은 수량이 있어도 품절로 보일 수 있다. (주문은 임대분에서 정상 처리)
+ * - DB 재고가 바닥나면 다음 reconcile 까지는 임대를 시도하지 않고 메모리 재고만으로 응답한다. (매진 후 요청이 DB 로 가지 않음)
+ */
+@Component
+public class HotInventory {
+
+    private static final Logger log = LoggerFactory.getLogger(HotInventory.class);
+
+    // 조회 후 임대 사이에 재고가 바뀌었을 때 다시 시도할 횟수
+    private static final int LEASE_RETRIES = 3;
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int leaseSize;
+    private final int stripes;
+    private final Set<Long> configuredBookIds;
+
+    private final Map<Long, HotStock> stocks = new ConcurrentHashMap<>();
+
+    public HotInventory(BookRepository bookRepository,
+                        TransactionTemplate transactionTemplate,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${bookstore.inventory.hot.lease-size:50}") int leaseSize,
+                        @Value("${bookstore.inventory.hot.stripes:0}") int stripes,
+                        @Value("${bookstore.inventory.hot.book-ids:}") Set<Long> configuredBookIds) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.leaseSize = Math.max(1, leaseSize);
+        this.stripes = (stripes > 0) ? stripes : Runtime.getRuntime().availableProcessors();
+        this.configuredBookIds = configuredBookIds;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void enableConfigured() {
+        configuredBookIds.forEach(this::enable);
+    }
+
+    /**
+     * 핫 재고 모드 켜기 (임대는 첫 주문 때)
+     */
+    public HotInventoryStatus enable(Long bookId) {
+        bookRepository.findById(bookId).orElseThrow(() -> new BusinessException(ErrorCode.BOOK_NOT_FOUND));
+        HotStock stock = stocks.computeIfAbsent(bookId, id -> new HotStock(id, stripes));
+        log.info("[HOT-INVENTORY] enabled for book {} ({} stripes, lease {})", bookId, stock.stripes(), leaseSize);
+        return status(stock);
+    }
+
+    /**
+     * 핫 재고 모드 끄기: 남은 임대분을 DB 재고로 돌려놓는다.
+     */
+    public void disable(Long bookId) {
+        HotStock stock = stocks.remove(bookId);
+        if (stock == null) {
+            return;
+        }
+        synchronized (stock) {
+            stock.close();
+            returnToDb(bookId, stock.drain());
+        }
+        eventPublisher.publishEvent(BookChangedEvent.stockChanged(bookId));
+        log.info("[HOT-INVENTORY] disabled for book {}", bookId);
+    }
+
+    /**
+     * 핫 재고 도서면 메모리 카운터에서 차감하고 true, 아니면 false (호출한 쪽이 DB 재고를 차감)
+     * - 메모리와 DB 를 합쳐도 모자라면 OUT_OF_STOCK
+     */
+    public boolean reserve(Long bookId, long quantity) {
+        HotStock stock = stocks.get(bookId);
+        if (stock == null) {
+            return false;
+        }
+        if (stock.tryTake(quantity)) {
+            return true;
+        }
+
+        // 느린 경로: 도서 하나에 한 스레드만 임대
+        synchronized (stock) {
+            if (stock.isClosed()) {
+                return false; // 방금 모드가 꺼짐 -> 임대분은 이미 DB 로 반납됨
+            }
+            if (stock.tryTake(quantity)) {
+                return true; // 기다리는 동안 다른 스레드가 임대해 옴
+            }
+            if (!stock.isDbExhausted()) {
+                long want = Math.max(leaseSize, quantity);
+                long leased = lease(bookId, want);
+                stock.add(leased);
+                stock.setDbExhausted(leased < want);
+            }
+            if (stock.tryTake(quantity) || stock.takeGathered(quantity)) {
+                return true;
+            }
+        }
+        throw new BusinessException(ErrorCode.OUT_OF_STOCK, Map.of(
+                "bookId", String.valueOf(bookId),
+                "quantity", String.valueOf(quantity)
+        ));
+    }
+
+    /**
+     * 주문이 실패(롤백)했을 때 reserve 한 수량을 되돌린다.
+     */
+    public void release(Long bookId, long quantity) {
+        HotStock stock = stocks.get(bookId);
+        if (stock != null) {
+            synchronized (stock) {
+                if (!stock.isClosed()) {
+                    stock.giveBack(quantity);
+                    return;
+                }
+            }
+        }
+        returnToDb(bookId, quantity);
+    }
+
+    /**
+     * 남는 임대분 반납 + 팔린 도서 재고 갱신 알림 (주문마다 하지 않고 주기적으로 한 번)
+     */
+    @Scheduled(fixedDelayString = "${bookstore.inventory.hot.reconcile-interval-ms:1000}")
+    public void reconcile() {
+        for (HotStock stock : stocks.values()) {
+            long sold = stock.soldSinceLastCheck();
+
+            synchronized (stock) {
+                // 그 사이 DB 재고가 채워졌을 수 있으므로 다시 임대 허용
+                stock.setDbExhausted(false);
+
+                // 롤백 반환 등으로 임대분이 두 블록 넘게 쌓이면 한 블록만 남기고 반납
+                if (!stock.isClosed() && stock.available() > 2L * leaseSize) {
+                    long units = stock.drain();
+                    stock.add(leaseSize);
+                    returnToDb(stock.getBookId(), units - leaseSize);
+                }
+            }
+            if (sold != 0) {
+                eventPublisher.publishEvent(BookChangedEvent.stockChanged(stock.getBookId()));
+            }
+        }
+    }
+
+    // 정상 종료 시 임대분 반납
+    @PreDestroy
+    public void shutdown() {
+        for (Long bookId : new ArrayList<>(stocks.keySet())) {
+            HotStock stock = stocks.remove(bookId);
+            synchronized (stock) {
+                stock.close();
+                returnToDb(bookId, stock.drain());
+            }
+        }
+    }
+
+    public boolean isHot(Long bookId) {
+        return stocks.containsKey(bookId);
+    }
+
+    public List<HotInventoryStatus> statuses() {
+        List<HotInventoryStatus> result = new ArrayList<>();
+        for (HotStock stock : stocks.values()) {
+            result.add(status(stock));
+        }
+        return result;
+    }
+
+    // DB 재고에서 want 권(모자라면 남은 만큼) 임대, 임대한 수량 반환
+    private long lease(Long bookId, long want) {
+        Long leased = transactionTemplate.execute(status -> {
+            for (int i = 0; i < LEASE_RETRIES; i++) {
+                if (bookRepository.decreaseStock(bookId, want) == 1) {
+                    return want;
+                }
+                int left = bookRepository.findStockById(bookId).orElse(0);
+                if (left <= 0) {
+                    return 0L;
+                }
+                if (bookRepository.decreaseStock(bookId, left) == 1) {
+                    return (long) left;
+                }
+            }
+            return 0L;
+        });
+        return (leased == null) ? 0 : leased;
+    }
+
+    private void returnToDb(Long bookId, long units) {
+        if (units <= 0) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> bookRepository.increaseStock(bookId, units));
+    }
+
+    private HotInventoryStatus status(HotStock stock) {
+        return new HotInventoryStatus(stock.getBookId(), stock.stripes(), stock.available());
+    }
+
+    /**
+     * 핫 재고 상태 (메모리에 임대해 둔 수량)
+     */
+    public static final class HotInventoryStatus {
+
+        private final Long bookId;
+        private final int stripes;
+        private final long leasedAvailable;
+
+        HotInventoryStatus(Long bookId, int stripes, long leasedAvailable) {
+            this.bookId = bookId;
+            this.stripes = stripes;
+            this.leasedAvailable = leasedAvailable;
+        }
+
+        public Long getBookId() { return bookId; }
+        public int getStripes() { return stripes; }
+        public long getLeasedAvailable() { return leasedAvailable; }
+    }
+}
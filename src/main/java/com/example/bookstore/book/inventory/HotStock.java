@@ -0,0 +1,127 @@
+package com.example.bookstore.book.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 핫 재고 도서 한 권의 메모리 재고 (stripe 로 나눈 카운터)
+ * - DB 에서 임대해 온 수량을 stripe(칸) 여러 개에 나눠 들고, 스레드마다 자기 칸부터 CAS 로 차감한다.
+ *   한 칸을 모든 주문이 두드리지 않으므로 코어 수만큼 나란히 처리된다. (LongAdder 와 같은 발상)
+ * - 칸끼리는 PAD 간격으로 떨어뜨려 false sharing 을 피한다.
+ * - 임대/반납/해제는 HotInventory 가 이 객체를 잠그고 호출한다. 차감(tryTake)만 락 없이 호출한다.
+ */
+final class HotStock {
+
+    // long 16개 = 128바이트 (캐시 라인 2개) 간격
+    private static final int PAD = 16;
+
+    private final Long bookId;
+    private final int mask;
+    private final AtomicLongArray cells;
+    private final LongAdder sold = new LongAdder();
+    private volatile boolean closed;
+    // 마지막 임대에서 DB 재고가 바닥남 -> 다음 reconcile 까지 임대 시도 안 함 (매진 후 요청이 행 잠금을 두드리지 않게)
+    private volatile boolean dbExhausted;
+
+    HotStock(Long bookId, int stripes) {
+        int n = (stripes <= 1) ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.bookId = bookId;
+        this.mask = n - 1;
+        this.cells = new AtomicLongArray(n * PAD);
+    }
+
+    /**
+     * 내 칸부터 차례로 돌면서 quantity 가 남아 있는 칸 하나에서 차감 (락 없음)
+     */
+    boolean tryTake(long quantity) {
+        int home = home();
+        for (int i = 0; i <= mask; i++) {
+            int idx = ((home + i) & mask) * PAD;
+            long units;
+            while ((units = cells.get(idx)) >= quantity) {
+                if (cells.compareAndSet(idx, units, units - quantity)) {
+                    sold.add(quantity);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 여러 칸에 흩어진 재고를 모두 모아서 차감 (느린 경로, 잠근 상태에서 호출)
+     * - 모자라면 모은 재고를 그대로 돌려놓고 false
+     */
+    boolean takeGathered(long quantity) {
+        long total = drain();
+        if (total < quantity) {
+            add(total);
+            return false;
+        }
+        add(total - quantity);
+        sold.add(quantity);
+        return true;
+    }
+
+    void add(long units) {
+        if (units != 0) {
+            cells.addAndGet(home() * PAD, units);
+        }
+    }
+
+    // 롤백된 주문의 수량을 되돌린다.
+    void giveBack(long units) {
+        add(units);
+        sold.add(-units);
+    }
+
+    long drain() {
+        long total = 0;
+        for (int i = 0; i <= mask; i++) {
+            total += cells.getAndSet(i * PAD, 0);
+        }
+        return total;
+    }
+
+    long available() {
+        long total = 0;
+        for (int i = 0; i <= mask; i++) {
+            total += cells.get(i * PAD);
+        }
+        return total;
+    }
+
+    // 지난 호출 이후 팔린 수량
+    long soldSinceLastCheck() {
+        return sold.sumThenReset();
+    }
+
+    boolean isDbExhausted() {
+        return dbExhausted;
+    }
+
+    void setDbExhausted(boolean dbExhausted) {
+        this.dbExhausted = dbExhausted;
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    Long getBookId() {
+        return bookId;
+    }
+
+    int stripes() {
+        return mask + 1;
+    }
+
+    private int home() {
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) (id ^ (id >>> 32)) & mask;
+    }
+}
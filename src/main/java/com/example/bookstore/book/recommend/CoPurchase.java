@@ -0,0 +1,18 @@
+package com.example.bookstore.book.recommend;
+
+/**
+ * 같이 산 도서 (불변)
+ */
+public final class CoPurchase {
+
+    private final Long bookId;
+    private final int count;
+
+    public CoPurchase(Long bookId, int count) {
+        this.bookId = bookId;
+        this.count = count;
+    }
+
+    public Long getBookId() { return bookId; }
+    public int getCount() { return count; }
+}
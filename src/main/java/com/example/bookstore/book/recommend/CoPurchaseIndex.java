@@ -0,0 +1,184 @@
+package com.example.bookstore.book.recommend;
+
+import com.example.bookstore.order.event.OrderCreatedEvent;
+import com.example.bookstore.order.repository.OrderItemRepository;
+import com.example.bookstore.order.repository.OrderItemRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "이 책을 산 고객이 같이 산 책" 인덱스 (도서 x 도서 희소 동시 구매 행렬)
+ * - 같은 주문에 함께 담긴 도서 쌍마다 양쪽 행에 +1 (수량이 아니라 주문 수 기준)
+ * - 행마다 이웃을 top-k 의 2배(capacity)까지만 primitive 배열로 들고 있다. (NeighborRow)
+ * - 전체 구축: order_items 를 (order_id, id) keyset 으로 chunk-size 행씩 읽으면서 주문 단위로 묶는다.
+ *   메모리는 "도서 수 x capacity" 를 넘지 않는다. 기동 시 + rebuild-cron 마다 다시 만든다.
+ * - 증분: 주문 커밋 후 OrderCreatedEvent 로 해당 주문의 쌍만 더한다.
+ *   구축 중에 들어온 주문은 모아 두었다가, 구축이 실제로 읽지 못한 주문만 새 행렬에 반영한다.
+ *   (주문 id 는 커밋 순서가 아니므로 "마지막으로 읽은 id 이후" 로 거르면 늦게 커밋된 작은 id 주문이 빠진다)
+ */
+@Component
+public class CoPurchaseIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CoPurchaseIndex.class);
+
+    // 주문 하나에서 쌍을 만들 최대 도서 수 (n^2 폭증 방지, 넘는 도서는 id 순으로 잘라냄)
+    static final int MAX_BOOKS_PER_ORDER = 50;
+
+    private final OrderItemRepository orderItemRepository;
+    private final int topK;
+    private final int chunkSize;
+
+    private final Object lock = new Object();
+    private volatile Map<Long, NeighborRow> rows = new ConcurrentHashMap<>();
+    // 구축 중일 때만 non-null
+    private List<OrderCreatedEvent> pending;
+
+    public CoPurchaseIndex(OrderItemRepository orderItemRepository,
+                           @Value("${bookstore.also-bought.top-k:20}") int topK,
+                           @Value("${bookstore.also-bought.chunk-size:5000}") int chunkSize) {
+        this.orderItemRepository = orderItemRepository;
+        this.topK = topK;
+        this.chunkSize = chunkSize;
+    }
+
+    // 기동 시에는 이 인덱스를 쓰는 UserRecommendations 보다 먼저 구축
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Scheduled(cron = "${bookstore.also-bought.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        synchronized (lock) {
+            if (pending != null) {
+                return; // 이미 구축 중
+            }
+            pending = new ArrayList<>();
+        }
+
+        long start = System.currentTimeMillis();
+        Map<Long, NeighborRow> fresh = new ConcurrentHashMap<>();
+        BitSet streamedOrderIds;
+        try {
+            streamedOrderIds = stream(fresh);
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                pending = null;
+            }
+            throw e;
+        }
+
+        synchronized (lock) {
+            for (OrderCreatedEvent event : pending) {
+                if (!streamedOrderIds.get(Math.toIntExact(event.getOrderId()))) {
+                    addOrder(fresh, event.getBookIds());
+                }
+            }
+            rows = fresh;
+            pending = null;
+        }
+        log.info("[ALSO-BOUGHT] co-purchase rows built for {} books ({} ms)",
+                fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        synchronized (lock) {
+            if (pending != null) {
+                pending.add(event);
+                return;
+            }
+        }
+        addOrder(rows, event.getBookIds());
+    }
+
+    /**
+     * 같이 산 도서 상위 size 개 (최대 top-k, 횟수 내림차순)
+     */
+    public List<CoPurchase> neighbors(Long bookId, int size) {
+        NeighborRow row = rows.get(bookId);
+        if (row == null) {
+            return List.of();
+        }
+        return row.top(Math.min(size, topK));
+    }
+
+    /**
+     * 해당 도서가 담긴 주문 수 (인덱스 기준)
+     */
+    public int orderCount(Long bookId) {
+        NeighborRow row = rows.get(bookId);
+        return (row == null) ? 0 : row.orders();
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    // order_items 전체를 청크 단위로 읽으며 주문별로 묶어서 반영, 읽은 order_id 집합 반환
+    private BitSet stream(Map<Long, NeighborRow> target) {
+        long afterOrderId = 0;
+        long afterId = 0;
+        long currentOrderId = -1;
+        TreeSet<Long> currentBooks = new TreeSet<>();
+        BitSet seen = new BitSet();
+
+        while (true) {
+            List<OrderItemRow> chunk = orderItemRepository.findChunkAfter(afterOrderId, afterId, chunkSize);
+            for (OrderItemRow row : chunk) {
+                if (row.getOrderId() != currentOrderId) {
+                    addOrder(target, currentBooks);
+                    currentBooks.clear();
+                    currentOrderId = row.getOrderId();
+                    seen.set(Math.toIntExact(currentOrderId));
+                }
+                currentBooks.add(row.getBookId());
+            }
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            OrderItemRow last = chunk.get(chunk.size() - 1);
+            afterOrderId = last.getOrderId();
+            afterId = last.getId();
+        }
+        // 주문 하나가 청크 경계에 걸쳐 있어도 order_id 가 바뀔 때까지 모으므로 마지막 주문만 따로 반영
+        addOrder(target, currentBooks);
+        return seen;
+    }
+
+    private void addOrder(Map<Long, NeighborRow> target, Iterable<Long> bookIds) {
+        long[] books = new long[MAX_BOOKS_PER_ORDER];
+        int n = 0;
+        for (Long bookId : bookIds) {
+            if (n == books.length) {
+                break;
+            }
+            if (n == 0 || books[n - 1] != bookId) {
+                books[n++] = bookId;
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            NeighborRow row = target.computeIfAbsent(books[i], id -> new NeighborRow(topK * 2));
+            row.addOrder();
+            for (int j = 0; j < n; j++) {
+                if (i != j) {
+                    row.add(books[j], 1);
+                }
+            }
+        }
+    }
+}
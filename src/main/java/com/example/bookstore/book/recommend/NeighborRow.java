@@ -0,0 +1,77 @@
+package com.example.bookstore.book.recommend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 도서 한 권의 "같이 산 도서" 행 (Space-Saving 방식 top-K)
+ * - 이웃 도서 id / 함께 주문된 횟수를 길이 capacity 의 primitive 배열에 보관한다.
+ * - 이웃 수가 capacity 이하면 정확한 값이고, 넘치면 가장 작은 항목을 새 이웃으로 바꾸면서
+ *   그 횟수를 이어받는다. (과대 추정은 최소 항목 횟수 이내)
+ * - 메서드 단위로 synchronized (행마다 락이 따로라서 다른 도서끼리는 경합하지 않음)
+ */
+final class NeighborRow {
+
+    private final long[] ids;
+    private final int[] counts;
+    private int size;
+    // 이 도서가 담긴 주문 수 (유사도 정규화용)
+    private int orders;
+
+    NeighborRow(int capacity) {
+        this.ids = new long[capacity];
+        this.counts = new int[capacity];
+    }
+
+    synchronized void addOrder() {
+        orders++;
+    }
+
+    synchronized int orders() {
+        return orders;
+    }
+
+    synchronized void add(long neighborId, int delta) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == neighborId) {
+                counts[i] += delta;
+                return;
+            }
+        }
+        if (size < ids.length) {
+            ids[size] = neighborId;
+            counts[size] = delta;
+            size++;
+            return;
+        }
+        int min = 0;
+        for (int i = 1; i < size; i++) {
+            if (counts[i] < counts[min]) {
+                min = i;
+            }
+        }
+        ids[min] = neighborId;
+        counts[min] += delta;
+    }
+
+    /**
+     * 횟수 내림차순(동률이면 id 오름차순) 상위 k 개
+     */
+    synchronized List<CoPurchase> top(int k) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> (counts[a] != counts[b])
+                ? Integer.compare(counts[b], counts[a])
+                : Long.compare(ids[a], ids[b]));
+
+        int n = Math.min(k, size);
+        List<CoPurchase> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(new CoPurchase(ids[order[i]], counts[order[i]]));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.bookstore.book.recommend;
+
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.repository.BookRepository;
+import com.example.bookstore.book.search.TopRatedLeaderboard;
+import com.example.bookstore.order.repository.OrderItemRepository;
+import com.example.bookstore.order.repository.UserBookRow;
+import com.example.bookstore.review.repository.ReviewRepository;
+import com.example.bookstore.review.repository.UserRatingRow;
+import com.example.bookstore.user.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 개인화 추천 (아이템 기반 협업 필터링, 배치 계산)
+ * - 사용자 이력: 구매한 도서(가중치 1) + 리뷰 평점((평점 - 2.5) / 2.5, 낮은 평점은 음수)
+ * - 도서 간 유사도: CoPurchaseIndex 의 동시 구매 횟수를 코사인으로 정규화 (c_ij / sqrt(n_i * n_j))
+ * - 점수(j) = Σ 이력 가중치(i) x 유사도(i, j), 이미 사거나 리뷰한 도서는 제외하고 상위 size 개만 저장
+ * - 배치: 사용자를 chunk-size 명씩 읽어서 계산 (기동 시 + rebuild-cron), 결과는 userId -> long[] 로 교체
+ *   기동 시 계산은 스케줄러 스레드에서 돌린다. (끝나기 전까지는 모든 사용자에게 fallback)
+ * - 조회: 맵 한 번 조회. 결과가 없는 사용자(신규/이력 없음)는 배치 때 만들어 둔 전체 인기 목록을 준다.
+ */
+@Component
+public class UserRecommendations {
+
+    private static final Logger log = LoggerFactory.getLogger(UserRecommendations.class);
+
+    private final CoPurchaseIndex coPurchaseIndex;
+    private final UserRepository userRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ReviewRepository reviewRepository;
+    private final BookRepository bookRepository;
+    private final TopRatedLeaderboard topRatedLeaderboard;
+    private final TaskScheduler taskScheduler;
+    private final int size;
+    private final int chunkSize;
+
+    private volatile Map<Long, long[]> byUser = new ConcurrentHashMap<>();
+    private volatile long[] fallback = new long[0];
+
+    public UserRecommendations(CoPurchaseIndex coPurchaseIndex,
+                               UserRepository userRepository,
+                               OrderItemRepository orderItemRepository,
+                               ReviewRepository reviewRepository,
+                               BookRepository bookRepository,
+                               TopRatedLeaderboard topRatedLeaderboard,
+                               TaskScheduler taskScheduler,
+                               @Value("${bookstore.recommendation.size:20}") int size,
+                               @Value("${bookstore.recommendation.chunk-size:500}") int chunkSize) {
+        this.coPurchaseIndex = coPurchaseIndex;
+        this.userRepository = userRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.reviewRepository = reviewRepository;
+        this.bookRepository = bookRepository;
+        this.topRatedLeaderboard = topRatedLeaderboard;
+        this.taskScheduler = taskScheduler;
+        this.size = size;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 사용자 추천 도서 id (점수 내림차순)
+     * - 개인화 결과가 없으면 fallback (베스트셀러 / 평점 상위 교차)
+     */
+    public RecommendedBooks forUser(Long userId) {
+        long[] bookIds = byUser.get(userId);
+        if (bookIds != null) {
+            return new RecommendedBooks(true, bookIds);
+        }
+        return new RecommendedBooks(false, fallback);
+    }
+
+    // 동시 구매 인덱스 구축(HIGHEST_PRECEDENCE) 이후에 실행. ApplicationReadyEvent 를 발행한 스레드는 붙잡지 않는다.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void rebuildOnStartup() {
+        taskScheduler.schedule(this::rebuild, Instant.now());
+    }
+
+    @Scheduled(cron = "${bookstore.recommendation.rebuild-cron:0 30 4 * * *}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+
+        fallback = globalFallback();
+
+        Map<Long, long[]> fresh = new ConcurrentHashMap<>();
+        Long afterId = 0L;
+        while (true) {
+            List<Long> userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            scoreChunk(userIds, fresh);
+            afterId = userIds.get(userIds.size() - 1);
+            if (userIds.size() < chunkSize) {
+                break;
+            }
+        }
+        byUser = fresh;
+
+        log.info("[RECOMMEND] recommendations computed for {} users ({} ms)",
+                fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    private void scoreChunk(List<Long> userIds, Map<Long, long[]> target) {
+        // 사용자 -> (도서 -> 이력 가중치)
+        Map<Long, Map<Long, Double>> histories = new HashMap<>();
+        for (UserBookRow row : orderItemRepository.findPurchasedBooks(userIds)) {
+            histories.computeIfAbsent(row.getUserId(), id -> new HashMap<>())
+                    .merge(row.getBookId(), 1.0, Double::sum);
+        }
+        for (UserRatingRow row : reviewRepository.findRatingsByUserIds(userIds)) {
+            histories.computeIfAbsent(row.getUserId(), id -> new HashMap<>())
+                    .merge(row.getBookId(), (row.getRating() - 2.5) / 2.5, Double::sum);
+        }
+
+        histories.forEach((userId, history) -> {
+            long[] top = score(history);
+            if (top.length > 0) {
+                target.put(userId, top);
+            }
+        });
+    }
+
+    private long[] score(Map<Long, Double> history) {
+        Map<Long, Double> scores = new HashMap<>();
+        history.forEach((bookId, weight) -> {
+            int n = coPurchaseIndex.orderCount(bookId);
+            if (n == 0) {
+                return;
+            }
+            for (CoPurchase neighbor : coPurchaseIndex.neighbors(bookId, coPurchaseIndex.getTopK())) {
+                if (history.containsKey(neighbor.getBookId())) {
+                    continue;
+                }
+                int m = Math.max(1, coPurchaseIndex.orderCount(neighbor.getBookId()));
+                double similarity = neighbor.getCount() / Math.sqrt((double) n * m);
+                scores.merge(neighbor.getBookId(), weight * similarity, Double::sum);
+            }
+        });
+
+        return scores.entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(size)
+                .mapToLong(Map.Entry::getKey)
+                .toArray();
+    }
+
+    // 베스트셀러와 평점 상위를 번갈아 섞은 전체 인기 목록 (중복 제거)
+    private long[] globalFallback() {
+        List<Book> bestSellers = bookRepository.findBestSellerBooks(size);
+        List<Book> topRated = topRatedLeaderboard.top(size);
+
+        Set<Long> merged = new LinkedHashSet<>();
+        for (int i = 0; i < Math.max(bestSellers.size(), topRated.size()) && merged.size() < size; i++) {
+            if (i < bestSellers.size()) {
+                merged.add(bestSellers.get(i).getId());
+            }
+            if (i < topRated.size() && merged.size() < size) {
+                merged.add(topRated.get(i).getId());
+            }
+        }
+        return merged.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * 추천 결과 (personalized=false 면 전체 인기 목록)
+     */
+    public static final class RecommendedBooks {
+
+        private final boolean personalized;
+        private final long[] bookIds;
+
+        RecommendedBooks(boolean personalized, long[] bookIds) {
+            this.personalized = personalized;
+            this.bookIds = bookIds;
+        }
+
+        public boolean isPersonalized() { return personalized; }
+
+        public List<Long> getBookIds() {
+            List<Long> ids = new ArrayList<>(bookIds.length);
+            for (long id : bookIds) {
+                ids.add(id);
+            }
+            return ids;
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.bookstore.book.repository;
 
+import com.example.bookstore.book.dto.BookSummary;
 import com.example.bookstore.book.entity.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
 
     // 1) 카테고리별 조회
     List<Book> findByCategoryId(Long categoryId);
@@ -25,13 +34,13 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     );
 
     // 4) 주문 데이터 기반 베스트셀러 조회 (상위 N권)
+    //    book_sales 집계 테이블의 (units_sold, book_id) 인덱스를 역순으로 N 건만 읽는다. (주문 이력 크기와 무관)
     @Query(
             value = """
-                    SELECT b.* 
-                    FROM books b
-                    JOIN order_items oi ON oi.book_id = b.id
-                    GROUP BY b.id
-                    ORDER BY SUM(oi.quantity) DESC
+                    SELECT b.*
+                    FROM book_sales s
+                    JOIN books b ON b.id = s.book_id
+                    ORDER BY s.units_sold DESC, s.book_id DESC
                     LIMIT :limit
                     """,
             nativeQuery = true
@@ -39,7 +48,7 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     List<Book> findBestSellerBooks(@Param("limit") int limit);
 
     // 5) 검색 + 카테고리 필터 + 페이지네이션/정렬
-    @Query("""
+    String SEARCH_QUERY = """
             SELECT b
             FROM Book b
             WHERE
@@ -47,10 +56,92 @@ public interface BookRepository extends JpaRepository<Book, Long> {
                OR LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%'))
                OR LOWER(b.author) LIKE LOWER(CONCAT('%', :keyword, '%')))
               AND (:categoryId IS NULL OR b.categoryId = :categoryId)
-            """)
+            """;
+
+    @Query(SEARCH_QUERY)
     Page<Book> searchBooks(
             @Param("keyword") String keyword,
             @Param("categoryId") Long categoryId,
             Pageable pageable
     );
+
+    // 6) 5번과 같은 조건, COUNT 쿼리 없이 다음 페이지 존재 여부만 (size+1 개 조회)
+    @Query(SEARCH_QUERY)
+    Slice<Book> searchBooksSlice(
+            @Param("keyword") String keyword,
+            @Param("categoryId") Long categoryId,
+            Pageable pageable
+    );
+
+    // 7) 5번과 같은 조건의 전체 개수 (SearchCountCache 에 TTL 동안 보관)
+    @Query("""
+            SELECT COUNT(b)
+            FROM Book b
+            WHERE
+              (:keyword IS NULL
+               OR LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%'))
+               OR LOWER(b.author) LIKE LOWER(CONCAT('%', :keyword, '%')))
+              AND (:categoryId IS NULL OR b.categoryId = :categoryId)
+            """)
+    long countSearchBooks(
+            @Param("keyword") String keyword,
+            @Param("categoryId") Long categoryId
+    );
+
+    // 8) 전체 내보내기용 forward-only 스트림 (id 순)
+    //    MySQL Connector/J 는 fetchSize = Integer.MIN_VALUE 일 때만 결과를 한 번에 받지 않고 행 단위로 넘겨준다.
+    //    스트림을 닫기 전까지 같은 커넥션으로 다른 쿼리를 보낼 수 없으므로 트랜잭션 안에서 이 쿼리만 사용할 것
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT b FROM Book b ORDER BY b.id")
+    Stream<Book> streamAllByOrderById();
+
+    // 9) 목록용 요약 projection: 필요한 컬럼만 읽어서 바로 DTO 생성 (엔티티/영속성 컨텍스트 스냅샷 없음)
+    String SUMMARY_SELECT = """
+            SELECT new com.example.bookstore.book.dto.BookSummary(
+                b.id, b.title, b.author, b.categoryId, b.price, b.reviewCount, b.averageRating)
+            FROM Book b
+            """;
+
+    @Query(SUMMARY_SELECT + "ORDER BY b.id")
+    List<BookSummary> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE b.categoryId = :categoryId ORDER BY b.id")
+    List<BookSummary> findSummariesByCategoryId(@Param("categoryId") Long categoryId);
+
+    // 정렬은 Pageable 의 Sort 로 (관리자 목록 / 최신 목록)
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookSummary> findSummaries(Pageable pageable);
+
+    // 10) 재고 차감: 조건부 UPDATE 한 문장으로 확인 + 차감 (엔티티 조회/잠금 없음)
+    //     재고가 부족하면 0 행. 같은 행을 동시에 차감하면 행 잠금으로 순서대로 적용된다.
+    @Modifying
+    @Query(
+            value = """
+                    UPDATE books
+                    SET stock = stock - :quantity, updated_at = NOW()
+                    WHERE id = :bookId AND stock >= :quantity
+                    """,
+            nativeQuery = true
+    )
+    int decreaseStock(@Param("bookId") Long bookId, @Param("quantity") long quantity);
+
+    // 11) 재고 되돌리기 (핫 재고 임대분 반납)
+    @Modifying
+    @Query(
+            value = """
+                    UPDATE books
+                    SET stock = stock + :quantity, updated_at = NOW()
+                    WHERE id = :bookId
+                    """,
+            nativeQuery = true
+    )
+    int increaseStock(@Param("bookId") Long bookId, @Param("quantity") long quantity);
+
+    // 12) 현재 DB 재고만 조회 (엔티티 로딩 없이)
+    @Query("SELECT b.stock FROM Book b WHERE b.id = :bookId")
+    Optional<Integer> findStockById(@Param("bookId") Long bookId);
 }
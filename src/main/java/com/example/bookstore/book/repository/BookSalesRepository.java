@@ -0,0 +1,22 @@
+package com.example.bookstore.book.repository;
+
+import com.example.bookstore.book.entity.BookSales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface BookSalesRepository extends JpaRepository<BookSales, Long> {
+
+    // 판매 수량 누적 (없으면 생성). 같은 행을 동시에 올려도 행 잠금으로 순서대로 더해진다.
+    @Modifying
+    @Query(
+            value = """
+                    INSERT INTO book_sales (book_id, units_sold)
+                    VALUES (:bookId, :quantity)
+                    ON DUPLICATE KEY UPDATE units_sold = units_sold + :quantity
+                    """,
+            nativeQuery = true
+    )
+    int addUnits(@Param("bookId") Long bookId, @Param("quantity") long quantity);
+}
@@ -0,0 +1,68 @@
+package com.example.bookstore.book.repository;
+
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.search.BookFilter;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 도서 조회 조건 (Specification)
+ * - 조건 값이 없으면 null 을 반환하므로 Specification.where(..).and(..) 로 그대로 이어 붙이면 된다.
+ */
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    /**
+     * 제목 또는 저자에 keyword 포함 (대소문자 무시, searchBooks 의 LIKE 조건과 동일)
+     */
+    public static Specification<Book> keyword(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + keyword.toLowerCase() + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern),
+                cb.like(cb.lower(root.get("author")), pattern)
+        );
+    }
+
+    public static Specification<Book> category(Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("categoryId"), categoryId);
+    }
+
+    /**
+     * 범위 필터 (V11 복합 인덱스: (category_id,) price / average_rating, review_count / created_at)
+     */
+    public static Specification<Book> filter(BookFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+            }
+            if (filter.getMinRating() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("averageRating"), filter.getMinRating()));
+            }
+            if (filter.getInStock() != null) {
+                predicates.add(cb.greaterThan(root.get("stock"), 0));
+            }
+            if (filter.getCreatedAfter() != null) {
+                predicates.add(cb.greaterThan(root.get("createdAt"), filter.getCreatedAfter()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
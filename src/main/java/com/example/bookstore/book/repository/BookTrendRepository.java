@@ -0,0 +1,27 @@
+package com.example.bookstore.book.repository;
+
+import com.example.bookstore.book.entity.BookTrend;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface BookTrendRepository extends JpaRepository<BookTrend, Long> {
+
+    // 스냅샷 저장 (없으면 생성, 있으면 덮어쓰기)
+    @Modifying
+    @Query(
+            value = """
+                    INSERT INTO book_trends (book_id, score_1h, score_24h, score_7d, scored_at)
+                    VALUES (:bookId, :score1h, :score24h, :score7d, :scoredAt)
+                    ON DUPLICATE KEY UPDATE
+                        score_1h = :score1h, score_24h = :score24h, score_7d = :score7d, scored_at = :scoredAt
+                    """,
+            nativeQuery = true
+    )
+    int saveSnapshot(@Param("bookId") Long bookId,
+                     @Param("score1h") double score1h,
+                     @Param("score24h") double score24h,
+                     @Param("score7d") double score7d,
+                     @Param("scoredAt") long scoredAt);
+}
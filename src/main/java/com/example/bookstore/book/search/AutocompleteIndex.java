@@ -0,0 +1,195 @@
+package com.example.bookstore.book.search;
+
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.entity.BookSales;
+import com.example.bookstore.book.index.CatalogIndex;
+import com.example.bookstore.book.repository.BookSalesRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 제목/저자 자동완성 인덱스
+ * - 불변 PrefixTrie 를 volatile 필드 하나로 들고 있고, 카탈로그가 바뀌면 새 trie 를 만들어 교체한다.
+ *   (조회 쪽은 락 없이 항상 완성된 trie 하나만 본다)
+ * - 인기도 = 리뷰 수 + 누적 주문 수량 (주문 수량은 book_sales 에서 주기적으로 다시 읽음)
+ * - 단어 시작 위치마다 key 를 넣어서 "정석" 으로도 "자바의 정석" 이 나온다.
+ * - 변경이 몰려도 재구성은 스케줄러(@Scheduled)가 짧은 주기로 한 번만
+ */
+@Component
+public class AutocompleteIndex implements CatalogIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private final BookSalesRepository bookSalesRepository;
+
+    // 재구성 원본 (bookId -> 도서), 주문 수량은 마지막으로 book_sales 를 읽은 시점 기준
+    private final Map<Long, IndexedBook> books = new ConcurrentHashMap<>();
+    private volatile Map<Long, Long> orderVolumes = Map.of();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // 마지막 재구성 이후 도서/주문 수량이 바뀌었는지
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+    public AutocompleteIndex(BookSalesRepository bookSalesRepository) {
+        this.bookSalesRepository = bookSalesRepository;
+    }
+
+    @Override
+    public void rebuild(List<Book> catalog) {
+        orderVolumes = loadOrderVolumes();
+
+        books.clear();
+        for (Book book : catalog) {
+            books.put(book.getId(), IndexedBook.from(book));
+        }
+        dirty.set(false);
+        snapshot = Snapshot.build(books.values(), orderVolumes);
+    }
+
+    // 제목/저자만 쓰므로 재고 변경(주문)마다 다시 반영할 필요가 없다.
+    @Override
+    public boolean ignoresStockChanges() {
+        return true;
+    }
+
+    @Override
+    public void upsert(Book book) {
+        books.put(book.getId(), IndexedBook.from(book));
+        dirty.set(true);
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        books.remove(bookId);
+        dirty.set(true);
+    }
+
+    /**
+     * prefix 로 시작하는 제목/저자(단어 시작 포함) 중 인기도 상위 limit 개
+     */
+    public List<Completion> suggest(String prefix, int limit) {
+        String normalized = NgramIndex.normalize(prefix).strip();
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Snapshot current = snapshot;
+        int[] top = current.trie.top(normalized);
+
+        List<Completion> result = new ArrayList<>(Math.min(limit, top.length));
+        for (int i = 0; i < top.length && i < limit; i++) {
+            result.add(current.completions[top[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * 마지막 재구성 이후 바뀐 것이 있으면 trie 재구성 (변경이 몰려도 주기당 한 번)
+     */
+    @Scheduled(fixedDelayString = "${bookstore.autocomplete.rebuild-delay-ms:500}")
+    public void rebuildIfDirty() {
+        if (dirty.getAndSet(false)) {
+            snapshot = Snapshot.build(books.values(), orderVolumes);
+        }
+    }
+
+    /**
+     * book_sales 의 누적 주문 수량을 다시 읽어서, 바뀌었으면 다음 재구성에 반영
+     */
+    @Scheduled(fixedDelayString = "${bookstore.autocomplete.volume-refresh-interval-ms:60000}",
+            initialDelayString = "${bookstore.autocomplete.volume-refresh-interval-ms:60000}")
+    public void refreshOrderVolumes() {
+        Map<Long, Long> volumes = loadOrderVolumes();
+        if (!volumes.equals(orderVolumes)) {
+            orderVolumes = volumes;
+            dirty.set(true);
+        }
+    }
+
+    private Map<Long, Long> loadOrderVolumes() {
+        Map<Long, Long> volumes = new HashMap<>();
+        for (BookSales row : bookSalesRepository.findAll()) {
+            volumes.put(row.getBookId(), row.getUnitsSold());
+        }
+        return volumes;
+    }
+
+    // trie + 항목 번호 -> 후보 (함께 교체해야 하므로 한 객체로 묶는다)
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(
+                PrefixTrie.build(new String[0], new int[0], new long[0], MAX_SUGGESTIONS),
+                new Completion[0]);
+
+        final PrefixTrie trie;
+        final Completion[] completions;
+
+        Snapshot(PrefixTrie trie, Completion[] completions) {
+            this.trie = trie;
+            this.completions = completions;
+        }
+
+        static Snapshot build(Iterable<IndexedBook> books, Map<Long, Long> orderVolumes) {
+            List<Completion> completions = new ArrayList<>();
+            Map<String, long[]> authorPopularity = new LinkedHashMap<>();
+            Map<String, String> authorDisplay = new HashMap<>();
+
+            for (IndexedBook book : books) {
+                long popularity = book.getReviewCount() + orderVolumes.getOrDefault(book.getId(), 0L);
+                completions.add(new Completion(book.getTitle(), Completion.Type.TITLE, book.getId(), popularity));
+
+                String authorKey = NgramIndex.normalize(book.getAuthor());
+                authorPopularity.computeIfAbsent(authorKey, k -> new long[1])[0] += popularity;
+                authorDisplay.putIfAbsent(authorKey, book.getAuthor());
+            }
+            for (Map.Entry<String, long[]> author : authorPopularity.entrySet()) {
+                completions.add(new Completion(authorDisplay.get(author.getKey()),
+                        Completion.Type.AUTHOR, null, author.getValue()[0]));
+            }
+
+            // 입력 순서와 상관없이 같은 결과가 나오도록 (동점이면 글자 순)
+            completions.sort(Comparator.comparing(Completion::getText).thenComparing(Completion::getType));
+
+            List<String> keys = new ArrayList<>();
+            List<Integer> entries = new ArrayList<>();
+            long[] popularity = new long[completions.size()];
+            for (int e = 0; e < completions.size(); e++) {
+                Completion completion = completions.get(e);
+                popularity[e] = completion.getPopularity();
+                for (String key : wordStarts(NgramIndex.normalize(completion.getText()))) {
+                    keys.add(key);
+                    entries.add(e);
+                }
+            }
+
+            PrefixTrie trie = PrefixTrie.build(
+                    keys.toArray(new String[0]),
+                    entries.stream().mapToInt(Integer::intValue).toArray(),
+                    popularity,
+                    MAX_SUGGESTIONS);
+            return new Snapshot(trie, completions.toArray(new Completion[0]));
+        }
+
+        // "자바의 정석" -> ["자바의 정석", "정석"]
+        private static List<String> wordStarts(String text) {
+            List<String> starts = new ArrayList<>();
+            for (int i = 0; i < text.length(); i++) {
+                boolean wordStart = (i == 0 || Character.isWhitespace(text.charAt(i - 1)))
+                        && !Character.isWhitespace(text.charAt(i));
+                if (wordStart) {
+                    starts.add(text.substring(i));
+                }
+            }
+            return starts;
+        }
+    }
+}
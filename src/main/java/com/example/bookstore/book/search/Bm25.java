@@ -0,0 +1,44 @@
+package com.example.bookstore.book.search;
+
+/**
+ * BM25F 점수 계산 (k1 = 1.2 / b = 0.75)
+ * - 토큰은 NgramIndex 의 질의 gram 을 그대로 사용한다.
+ * - 필드별 tf 를 길이 정규화 후 boost 를 곱해 합친 다음 한 번만 포화시킨다.
+ *   (필드마다 따로 BM25 를 더하면 희귀한 저자 매칭이 제목 매칭을 이겨버린다)
+ */
+final class Bm25 {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    static final double TITLE_BOOST = 2.0;
+    static final double AUTHOR_BOOST = 1.0;
+
+    private Bm25() {
+    }
+
+    /**
+     * 전체 docCount 개 중 df 개 문서에 등장한 토큰의 idf (항상 0 이상)
+     */
+    static double idf(int docCount, int df) {
+        return Math.log(1.0 + (docCount - df + 0.5) / (df + 0.5));
+    }
+
+    /**
+     * 필드 길이로 정규화한 tf (긴 필드일수록 한 번 등장의 가치가 작다)
+     */
+    static double normalizedTf(int tf, int fieldLength, double averageLength) {
+        if (tf == 0) {
+            return 0.0;
+        }
+        double norm = (averageLength == 0.0) ? 1.0 : fieldLength / averageLength;
+        return tf / (1 - B + B * norm);
+    }
+
+    /**
+     * boost 가 반영된 필드 tf 합으로 한 토큰의 점수
+     */
+    static double termScore(double idf, double weightedTf) {
+        return idf * (weightedTf * (K1 + 1)) / (weightedTf + K1);
+    }
+}
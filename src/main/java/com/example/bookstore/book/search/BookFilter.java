@@ -0,0 +1,121 @@
+package com.example.bookstore.book.search;
+
+import com.example.bookstore.common.exception.BusinessException;
+import com.example.bookstore.common.exception.ErrorCode;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 도서 검색 범위 필터 (불변)
+ * - minPrice / maxPrice / minRating / inStock / createdAfter, 값이 null 이면 해당 조건 없음
+ * - 메모리 인덱스 경로는 test(IndexedBook), DB 경로는 BookSpecifications.filter 로 같은 조건을 적용한다.
+ */
+public final class BookFilter {
+
+    public static final BookFilter NONE = new BookFilter(null, null, null, null, null);
+
+    private final Integer minPrice;
+    private final Integer maxPrice;
+    private final Double minRating;
+    private final Boolean inStock;
+    private final LocalDateTime createdAfter;
+
+    private BookFilter(Integer minPrice, Integer maxPrice, Double minRating,
+                       Boolean inStock, LocalDateTime createdAfter) {
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.minRating = minRating;
+        this.inStock = inStock;
+        this.createdAfter = createdAfter;
+    }
+
+    /**
+     * 요청 파라미터로 필터 생성 (값 범위가 잘못되면 400)
+     * - inStock=false 는 "조건 없음" 과 같다.
+     */
+    public static BookFilter of(Integer minPrice, Integer maxPrice, Double minRating,
+                                Boolean inStock, LocalDateTime createdAfter) {
+        if ((minPrice != null && minPrice < 0) || (maxPrice != null && maxPrice < 0)) {
+            throw invalid("가격 필터는 0 이상이어야 합니다.");
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw invalid("minPrice 가 maxPrice 보다 클 수 없습니다.");
+        }
+        if (minRating != null && (minRating < 0 || minRating > 5)) {
+            throw invalid("minRating 은 0 ~ 5 사이여야 합니다.");
+        }
+
+        Boolean stock = Boolean.TRUE.equals(inStock) ? Boolean.TRUE : null;
+        if (minPrice == null && maxPrice == null && minRating == null && stock == null && createdAfter == null) {
+            return NONE;
+        }
+        return new BookFilter(minPrice, maxPrice, minRating, stock, createdAfter);
+    }
+
+    public boolean isEmpty() {
+        return this == NONE;
+    }
+
+    /**
+     * 범위 조건이 걸린 정렬 가능 필드 (price / averageRating / createdAt)
+     * - inStock(stock > 0) 은 어떤 인덱스를 타든 남은 행에서 거르는 조건이라 포함하지 않는다.
+     */
+    public Set<String> rangeProperties() {
+        Set<String> properties = new LinkedHashSet<>();
+        if (minPrice != null || maxPrice != null) {
+            properties.add("price");
+        }
+        if (minRating != null) {
+            properties.add("averageRating");
+        }
+        if (createdAfter != null) {
+            properties.add("createdAt");
+        }
+        return properties;
+    }
+
+    public boolean test(IndexedBook book) {
+        if (minPrice != null && book.getPrice() < minPrice) {
+            return false;
+        }
+        if (maxPrice != null && book.getPrice() > maxPrice) {
+            return false;
+        }
+        if (minRating != null && book.getAverageRating() < minRating) {
+            return false;
+        }
+        if (inStock != null && book.getStock() <= 0) {
+            return false;
+        }
+        return createdAfter == null || book.getCreatedAt().isAfter(createdAfter);
+    }
+
+    public Integer getMinPrice() { return minPrice; }
+    public Integer getMaxPrice() { return maxPrice; }
+    public Double getMinRating() { return minRating; }
+    public Boolean getInStock() { return inStock; }
+    public LocalDateTime getCreatedAfter() { return createdAfter; }
+
+    private static BusinessException invalid(String message) {
+        return new BusinessException(ErrorCode.INVALID_QUERY_PARAM, message);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BookFilter other)) return false;
+        return Objects.equals(minPrice, other.minPrice)
+                && Objects.equals(maxPrice, other.maxPrice)
+                && Objects.equals(minRating, other.minRating)
+                && Objects.equals(inStock, other.inStock)
+                && Objects.equals(createdAfter, other.createdAfter);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(minPrice, maxPrice, minRating, inStock, createdAfter);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.bookstore.book.search;
+
+import com.example.bookstore.book.index.CatalogIndex;
+
+import java.util.List;
+
+/**
+ * 제목/저자 키워드 검색용 메모리 인덱스
+ * - 구현체를 바꿔 끼울 수 있도록 인터페이스로 분리 (기본: NgramBookSearchIndex)
+ * - 결과는 정렬되지 않은 스냅샷 목록이며, 정렬/페이지 자르기는 BookSearchService 에서 한다.
+ */
+public interface BookSearchIndex extends CatalogIndex {
+
+    /**
+     * 시작 시 rebuild 가 끝나기 전에는 false (이때는 DB 검색으로 우회)
+     */
+    boolean isReady();
+
+    /**
+     * 제목 또는 저자에 keyword 가 포함된 도서 (대소문자 무시)
+     * categoryId 가 null 이 아니면 해당 카테고리만
+     */
+    List<IndexedBook> search(String keyword, Long categoryId);
+
+    /**
+     * search 와 같은 매칭 조건(+ 범위 필터)에서 BM25 점수 상위 limit 개만 반환 (sort=relevance)
+     * - 전체 후보를 정렬하지 않고 크기 limit 의 힙으로 상위만 남긴다.
+     */
+    RankedHits rank(String keyword, Long categoryId, BookFilter filter, int limit);
+}
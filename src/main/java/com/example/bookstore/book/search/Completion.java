@@ -0,0 +1,28 @@
+package com.example.bookstore.book.search;
+
+/**
+ * 자동완성 후보 (불변)
+ * - TITLE: 도서 제목, bookId 로 바로 상세 조회 가능
+ * - AUTHOR: 저자명, 같은 저자의 도서 인기도 합산 (bookId 없음)
+ */
+public final class Completion {
+
+    public enum Type { TITLE, AUTHOR }
+
+    private final String text;
+    private final Type type;
+    private final Long bookId;
+    private final long popularity;
+
+    public Completion(String text, Type type, Long bookId, long popularity) {
+        this.text = text;
+        this.type = type;
+        this.bookId = bookId;
+        this.popularity = popularity;
+    }
+
+    public String getText() { return text; }
+    public Type getType() { return type; }
+    public Long getBookId() { return bookId; }
+    public long getPopularity() { return popularity; }
+}
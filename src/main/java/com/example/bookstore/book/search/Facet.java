@@ -0,0 +1,54 @@
+package com.example.bookstore.book.search;
+
+import com.example.bookstore.common.exception.BusinessException;
+import com.example.bookstore.common.exception.ErrorCode;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 검색 결과 패싯 종류 (facets=category,priceBucket,rating)
+ */
+public enum Facet {
+    CATEGORY("category"),
+    PRICE_BUCKET("priceBucket"),
+    RATING("rating");
+
+    private final String key;
+
+    Facet(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 콤마로 구분된 패싯 목록 (빈 값이면 빈 집합, 모르는 이름이면 400)
+     */
+    public static Set<Facet> parse(String value) {
+        Set<Facet> facets = EnumSet.noneOf(Facet.class);
+        if (value == null || value.isBlank()) {
+            return facets;
+        }
+        for (String part : value.split(",")) {
+            String name = part.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            facets.add(of(name));
+        }
+        return facets;
+    }
+
+    private static Facet of(String name) {
+        for (Facet facet : values()) {
+            if (facet.key.equalsIgnoreCase(name)) {
+                return facet;
+            }
+        }
+        throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM,
+                "지원하지 않는 패싯입니다: " + name);
+    }
+}
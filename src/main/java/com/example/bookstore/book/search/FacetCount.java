@@ -0,0 +1,19 @@
+package com.example.bookstore.book.search;
+
+/**
+ * 패싯 값 하나와 해당 도서 수 (불변)
+ * - value: category 는 카테고리 id, priceBucket/rating 은 구간 이름 (예: "10000-20000", "4.5+")
+ */
+public final class FacetCount {
+
+    private final String value;
+    private final int count;
+
+    public FacetCount(String value, int count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    public String getValue() { return value; }
+    public int getCount() { return count; }
+}
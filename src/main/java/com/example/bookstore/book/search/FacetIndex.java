@@ -0,0 +1,277 @@
+package com.example.bookstore.book.search;
+
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.index.CatalogIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 검색 결과 패싯 집계용 비트맵 인덱스
+ * - 카테고리별 / 가격 구간별 / 평점 구간별로 도서 id 비트맵을 미리 만들어 둔다.
+ * - 요청마다 "매칭된 도서 id 비트맵" 하나만 만들고, 각 구간 비트맵과의 교집합 크기만 센다.
+ *   (구간 수만큼 searchBooks 를 다시 호출하지 않음)
+ * - category 패싯은 categoryId 필터를 빼고 센다. (다른 카테고리로 바꿨을 때의 개수를 보여주기 위함)
+ * - 범위 필터도 값별 posting 비트맵(가격/평점/등록 시각, 재고 있음)으로 들고 있다가
+ *   조건마다 구간에 걸친 비트맵의 합집합을 만들어 교집합한다. (전체 도서를 훑지 않음)
+ */
+@Component
+public class FacetIndex implements CatalogIndex {
+
+    static final int[] PRICE_BOUNDS = {10000, 20000, 30000, 50000};
+    static final String[] PRICE_LABELS = {"0-10000", "10000-20000", "20000-30000", "30000-50000", "50000+"};
+    static final String[] RATING_LABELS = {"4.5+", "4.0-4.5", "3.0-4.0", "0-3.0", "unrated"};
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State();
+    private volatile boolean ready = false;
+
+    @Override
+    public void rebuild(List<Book> books) {
+        State fresh = new State();
+        for (Book book : books) {
+            fresh.put(IndexedBook.from(book));
+        }
+
+        lock.writeLock().lock();
+        try {
+            state = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+    }
+
+    @Override
+    public void upsert(Book book) {
+        IndexedBook snapshot = IndexedBook.from(book);
+
+        lock.writeLock().lock();
+        try {
+            state.put(snapshot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            state.remove(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @param facets     집계할 패싯
+     * @param matchIds   키워드 매칭 도서 id (categoryId 필터 전). null 이면 전체 도서
+     * @param categoryId 카테고리 필터 (category 패싯 외의 집계에만 적용)
+     * @param filter     범위 필터 (matchIds 에 이미 적용했다면 NONE)
+     * @return 패싯 이름 -> 값별 개수 (facets 순서)
+     */
+    public Map<String, List<FacetCount>> count(Set<Facet> facets, Collection<Long> matchIds,
+                                               Long categoryId, BookFilter filter) {
+        IdBitmap matched = (matchIds == null) ? null : IdBitmap.of(matchIds);
+
+        lock.readLock().lock();
+        try {
+            IdBitmap base = (matched == null) ? state.all : matched;
+            if (!filter.isEmpty()) {
+                base = state.filter(base, filter);
+            }
+            IdBitmap filtered = base;
+            if (categoryId != null) {
+                IdBitmap category = state.categories.get(categoryId);
+                filtered = (category == null) ? new IdBitmap() : base.and(category);
+            }
+
+            Map<String, List<FacetCount>> result = new LinkedHashMap<>();
+            for (Facet facet : facets) {
+                result.put(facet.getKey(), switch (facet) {
+                    case CATEGORY -> countCategories(base);
+                    case PRICE_BUCKET -> countBuckets(filtered, state.priceBuckets, PRICE_LABELS);
+                    case RATING -> countBuckets(filtered, state.ratingBuckets, RATING_LABELS);
+                });
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 개수 내림차순 (0건 카테고리는 제외)
+    private List<FacetCount> countCategories(IdBitmap base) {
+        List<FacetCount> counts = new ArrayList<>();
+        for (Map.Entry<Long, IdBitmap> entry : state.categories.entrySet()) {
+            int count = base.andCardinality(entry.getValue());
+            if (count > 0) {
+                counts.add(new FacetCount(String.valueOf(entry.getKey()), count));
+            }
+        }
+        counts.sort(Comparator.comparingInt(FacetCount::getCount).reversed());
+        return counts;
+    }
+
+    // 구간 순서 그대로 (0건 구간도 포함)
+    private static List<FacetCount> countBuckets(IdBitmap base, IdBitmap[] buckets, String[] labels) {
+        List<FacetCount> counts = new ArrayList<>(buckets.length);
+        for (int i = 0; i < buckets.length; i++) {
+            counts.add(new FacetCount(labels[i], base.andCardinality(buckets[i])));
+        }
+        return counts;
+    }
+
+    static int priceBucket(int price) {
+        int i = 0;
+        while (i < PRICE_BOUNDS.length && price >= PRICE_BOUNDS[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    static int ratingBucket(IndexedBook book) {
+        if (book.getReviewCount() == 0) {
+            return 4;
+        }
+        double rating = book.getAverageRating();
+        if (rating >= 4.5) {
+            return 0;
+        }
+        if (rating >= 4.0) {
+            return 1;
+        }
+        return (rating >= 3.0) ? 2 : 3;
+    }
+
+    private static class State {
+        final Map<Long, IndexedBook> books = new HashMap<>();
+        final IdBitmap all = new IdBitmap();
+        final Map<Long, IdBitmap> categories = new TreeMap<>();
+        final IdBitmap[] priceBuckets = newBuckets(PRICE_LABELS.length);
+        final IdBitmap[] ratingBuckets = newBuckets(RATING_LABELS.length);
+
+        // 범위 필터용 posting (값 -> 그 값을 가진 도서 id)
+        final NavigableMap<Integer, IdBitmap> prices = new TreeMap<>();
+        final NavigableMap<Double, IdBitmap> ratings = new TreeMap<>();
+        final NavigableMap<LocalDateTime, IdBitmap> createdAts = new TreeMap<>();
+        final IdBitmap inStock = new IdBitmap();
+
+        void put(IndexedBook book) {
+            remove(book.getId());
+
+            books.put(book.getId(), book);
+            all.add(book.getId());
+            if (book.getCategoryId() != null) {
+                categories.computeIfAbsent(book.getCategoryId(), k -> new IdBitmap()).add(book.getId());
+            }
+            priceBuckets[priceBucket(book.getPrice())].add(book.getId());
+            ratingBuckets[ratingBucket(book)].add(book.getId());
+
+            addPosting(prices, book.getPrice(), book.getId());
+            addPosting(ratings, book.getAverageRating(), book.getId());
+            addPosting(createdAts, book.getCreatedAt(), book.getId());
+            if (book.getStock() > 0) {
+                inStock.add(book.getId());
+            }
+        }
+
+        void remove(Long id) {
+            IndexedBook previous = books.remove(id);
+            if (previous == null) {
+                return;
+            }
+            all.remove(id);
+            if (previous.getCategoryId() != null) {
+                IdBitmap category = categories.get(previous.getCategoryId());
+                category.remove(id);
+                if (category.cardinality() == 0) {
+                    categories.remove(previous.getCategoryId());
+                }
+            }
+            priceBuckets[priceBucket(previous.getPrice())].remove(id);
+            ratingBuckets[ratingBucket(previous)].remove(id);
+
+            removePosting(prices, previous.getPrice(), id);
+            removePosting(ratings, previous.getAverageRating(), id);
+            removePosting(createdAts, previous.getCreatedAt(), id);
+            inStock.remove(id);
+        }
+
+        // BookFilter.test 와 같은 조건을 posting 합집합의 교집합으로 계산
+        IdBitmap filter(IdBitmap base, BookFilter filter) {
+            IdBitmap result = base;
+            if (filter.getInStock() != null) {
+                result = result.and(inStock);
+            }
+            if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+                NavigableMap<Integer, IdBitmap> range = prices;
+                if (filter.getMinPrice() != null) {
+                    range = range.tailMap(filter.getMinPrice(), true);
+                }
+                if (filter.getMaxPrice() != null) {
+                    range = range.headMap(filter.getMaxPrice(), true);
+                }
+                result = result.and(union(range));
+            }
+            if (filter.getMinRating() != null) {
+                result = result.and(union(ratings.tailMap(filter.getMinRating(), true)));
+            }
+            if (filter.getCreatedAfter() != null) {
+                result = result.and(union(createdAts.tailMap(filter.getCreatedAfter(), false)));
+            }
+            return result;
+        }
+
+        private static IdBitmap union(Map<?, IdBitmap> postings) {
+            IdBitmap result = new IdBitmap();
+            for (IdBitmap posting : postings.values()) {
+                result.addAll(posting);
+            }
+            return result;
+        }
+
+        private static <K> void addPosting(Map<K, IdBitmap> postings, K value, Long id) {
+            if (value != null) {
+                postings.computeIfAbsent(value, k -> new IdBitmap()).add(id);
+            }
+        }
+
+        private static <K> void removePosting(Map<K, IdBitmap> postings, K value, Long id) {
+            IdBitmap posting = (value == null) ? null : postings.get(value);
+            if (posting == null) {
+                return;
+            }
+            posting.remove(id);
+            if (posting.cardinality() == 0) {
+                postings.remove(value);
+            }
+        }
+
+        private static IdBitmap[] newBuckets(int size) {
+            IdBitmap[] buckets = new IdBitmap[size];
+            for (int i = 0; i < size; i++) {
+                buckets[i] = new IdBitmap();
+            }
+            return buckets;
+        }
+    }
+}
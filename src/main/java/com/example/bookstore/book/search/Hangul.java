@@ -0,0 +1,100 @@
+package com.example.bookstore.book.search;
+
+import java.util.Locale;
+
+/**
+ * 한글 음절 분해 (초성 / 자모)
+ * - 음절(가~힣)은 유니코드 공식: (초성 * 21 + 중성) * 28 + 종성 + 0xAC00
+ * - 공백은 버린다. ("ㅈㅂㅇㅈㅅ" 로 "자바의 정석" 을 찾을 수 있도록)
+ * - 자모 분해는 겹받침/이중모음까지 풀어서, 입력 중인 글자("달" -> "닭", "간" -> "가나")도 매칭되게 한다.
+ */
+final class Hangul {
+
+    private static final char SYLLABLE_BEGIN = 0xAC00;
+    private static final char SYLLABLE_END = 0xD7A3;
+
+    private static final String CHOSUNG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String[] JUNGSUNG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ",
+            "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+    private static final String[] JONGSUNG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    // 호환 자모(ㄱ~ㅣ) 중 겹자모를 단일 자모로 푼 값 (입력창에서 낱자로 들어오는 경우)
+    private static final String COMPOUND_JAMO = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄㅘㅙㅚㅝㅞㅟㅢ";
+    private static final String[] COMPOUND_SPLIT = {
+            "ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ",
+            "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ"
+    };
+
+    private Hangul() {
+    }
+
+    /**
+     * "자바의 정석" -> "ㅈㅂㅇㅈㅅ" (한글 외 문자는 소문자로 유지)
+     */
+    static String chosung(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (char c : lower(text).toCharArray()) {
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (isSyllable(c)) {
+                sb.append(CHOSUNG.charAt((c - SYLLABLE_BEGIN) / (21 * 28)));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * "자바의 정석" -> "ㅈㅏㅂㅏㅇㅡㅣㅈㅓㅇㅅㅓㄱ"
+     */
+    static String jamo(String text) {
+        StringBuilder sb = new StringBuilder(text.length() * 3);
+        for (char c : lower(text).toCharArray()) {
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (isSyllable(c)) {
+                int index = c - SYLLABLE_BEGIN;
+                sb.append(CHOSUNG.charAt(index / (21 * 28)));
+                sb.append(JUNGSUNG[(index % (21 * 28)) / 28]);
+                sb.append(JONGSUNG[index % 28]);
+            } else {
+                int compound = COMPOUND_JAMO.indexOf(c);
+                sb.append(compound >= 0 ? COMPOUND_SPLIT[compound] : String.valueOf(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 공백을 빼면 자음(ㄱ~ㅎ)만으로 이루어진 질의인지 ("ㅈㅂㅇㅈㅅ")
+     */
+    static boolean isChosungQuery(String query) {
+        boolean hasConsonant = false;
+        for (char c : query.toCharArray()) {
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c < 'ㄱ' || c > 'ㅎ') {
+                return false;
+            }
+            hasConsonant = true;
+        }
+        return hasConsonant;
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BEGIN && c <= SYLLABLE_END;
+    }
+
+    private static String lower(String text) {
+        return (text == null) ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.bookstore.book.search;
+
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.index.CatalogIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 초성/자모 검색 인덱스 (search mode=chosung)
+ * - 제목/저자를 색인 시점에 초성 문자열, 자모 문자열로 바꿔서 각각 n-gram 색인에 넣는다.
+ * - 자음만 입력하면 초성 색인, 그 외(입력 중인 음절 포함)는 자모 색인에서 부분 문자열로 찾는다.
+ * - 동기화 방식은 NgramBookSearchIndex 와 같다. (rebuild 는 교체만 락 안에서)
+ */
+@Component
+public class HangulSearchIndex implements CatalogIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State();
+    private volatile boolean ready = false;
+
+    @Override
+    public void rebuild(List<Book> books) {
+        State fresh = new State();
+        for (Book book : books) {
+            fresh.put(IndexedBook.from(book));
+        }
+
+        lock.writeLock().lock();
+        try {
+            state = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+    }
+
+    @Override
+    public void upsert(Book book) {
+        IndexedBook snapshot = IndexedBook.from(book);
+
+        lock.writeLock().lock();
+        try {
+            state.put(snapshot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            state.remove(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 제목 또는 저자의 초성/자모에 keyword 가 포함된 도서 (정렬되지 않은 목록)
+     */
+    public List<IndexedBook> search(String keyword, Long categoryId) {
+        boolean chosung = Hangul.isChosungQuery(keyword);
+        String query = chosung ? Hangul.chosung(keyword) : Hangul.jamo(keyword);
+
+        lock.readLock().lock();
+        try {
+            Set<Long> ids = chosung
+                    ? union(state.chosungTitles, state.chosungAuthors, query)
+                    : union(state.jamoTitles, state.jamoAuthors, query);
+
+            List<IndexedBook> result = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                IndexedBook book = state.books.get(id);
+                if (categoryId == null || categoryId.equals(book.getCategoryId())) {
+                    result.add(book);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<Long> union(NgramIndex titles, NgramIndex authors, String query) {
+        Set<Long> ids = new HashSet<>(titles.find(query));
+        ids.addAll(authors.find(query));
+        return ids;
+    }
+
+    private static class State {
+        final Map<Long, IndexedBook> books = new HashMap<>();
+        final NgramIndex chosungTitles = new NgramIndex();
+        final NgramIndex chosungAuthors = new NgramIndex();
+        final NgramIndex jamoTitles = new NgramIndex();
+        final NgramIndex jamoAuthors = new NgramIndex();
+
+        void put(IndexedBook book) {
+            books.put(book.getId(), book);
+            chosungTitles.put(book.getId(), Hangul.chosung(book.getTitle()));
+            chosungAuthors.put(book.getId(), Hangul.chosung(book.getAuthor()));
+            jamoTitles.put(book.getId(), Hangul.jamo(book.getTitle()));
+            jamoAuthors.put(book.getId(), Hangul.jamo(book.getAuthor()));
+        }
+
+        void remove(Long id) {
+            books.remove(id);
+            chosungTitles.remove(id);
+            chosungAuthors.remove(id);
+            jamoTitles.remove(id);
+            jamoAuthors.remove(id);
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package com.example.bookstore.book.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 도서 id 집합용 압축 비트맵 (Roaring 방식)
+ * - id 상위 16비트로 구간(컨테이너)을 나누고, 구간마다
+ *   원소가 적으면 정렬된 char 배열, 많으면(4096 초과) 65536 비트 비트맵으로 보관한다.
+ * - 교집합 크기(andCardinality)는 결과를 만들지 않고 바로 센다. (패싯 집계용)
+ * - addAll 로 합집합을 누적한다. (범위 필터 = 구간에 걸친 값별 비트맵의 합집합)
+ * - 스레드 안전하지 않다. 호출 측(FacetIndex)이 락으로 보호한다.
+ */
+final class IdBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+
+    private int[] keys = new int[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    /**
+     * 정렬해서 넣으면 컨테이너 안에서 항상 끝에 붙으므로 배열 이동이 없다.
+     */
+    static IdBitmap of(Collection<Long> ids) {
+        long[] sorted = new long[ids.size()];
+        int n = 0;
+        for (Long id : ids) {
+            sorted[n++] = id;
+        }
+        Arrays.sort(sorted);
+
+        IdBitmap bitmap = new IdBitmap();
+        for (long id : sorted) {
+            bitmap.add(id);
+        }
+        return bitmap;
+    }
+
+    void add(long id) {
+        int key = highBits(id);
+        int i = indexOf(key);
+        if (i < 0) {
+            i = -i - 1;
+            insertAt(i, key, new ArrayContainer());
+        }
+        containers[i] = containers[i].add((char) id);
+    }
+
+    void remove(long id) {
+        int i = indexOf(highBits(id));
+        if (i < 0) {
+            return;
+        }
+        containers[i] = containers[i].remove((char) id);
+        if (containers[i].cardinality() == 0) {
+            removeAt(i);
+        }
+    }
+
+    boolean contains(long id) {
+        int i = indexOf(highBits(id));
+        return i >= 0 && containers[i].contains((char) id);
+    }
+
+    int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    /**
+     * |this ∩ other| (교집합 비트맵을 만들지 않음)
+     */
+    int andCardinality(IdBitmap other) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                total += containers[i].andCardinality(other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * this ∪= other (other 의 컨테이너는 복사해서 넣으므로 other 는 바뀌지 않는다)
+     */
+    void addAll(IdBitmap other) {
+        for (int j = 0; j < other.size; j++) {
+            int i = indexOf(other.keys[j]);
+            if (i < 0) {
+                insertAt(-i - 1, other.keys[j], other.containers[j].copy());
+            } else {
+                containers[i] = containers[i].addAll(other.containers[j]);
+            }
+        }
+    }
+
+    IdBitmap and(IdBitmap other) {
+        IdBitmap result = new IdBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container c = containers[i].and(other.containers[j]);
+                if (c.cardinality() > 0) {
+                    result.insertAt(result.size, keys[i], c);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    private static int highBits(long id) {
+        if (id < 0 || id > 0xFFFF_FFFFL) {
+            throw new IllegalArgumentException("bitmap 에 넣을 수 없는 id: " + id);
+        }
+        return (int) (id >>> 16);
+    }
+
+    private int indexOf(int key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertAt(int i, int key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = container;
+        size++;
+    }
+
+    private void removeAt(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+        containers[--size] = null;
+    }
+
+    // 하위 16비트 집합. add/remove 는 형태가 바뀔 수 있어서 (배열 <-> 비트맵) 새 컨테이너를 돌려준다.
+    private abstract static class Container {
+        abstract Container add(char value);
+        abstract Container remove(char value);
+        abstract boolean contains(char value);
+        abstract int cardinality();
+        abstract int andCardinality(Container other);
+        abstract Container and(Container other);
+        // this ∪ other. this 는 바뀔 수 있고, other 는 바뀌지 않는다.
+        abstract Container addAll(Container other);
+        abstract Container copy();
+    }
+
+    private static final class ArrayContainer extends Container {
+        char[] values = new char[4];
+        int cardinality;
+
+        @Override
+        Container add(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            i = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, i, values, i + 1, cardinality - i);
+            values[i] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        int andCardinality(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                int count = 0;
+                for (int i = 0; i < cardinality; i++) {
+                    if (bitmap.contains(values[i])) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < array.cardinality) {
+                if (values[i] < array.values[j]) {
+                    i++;
+                } else if (values[i] > array.values[j]) {
+                    j++;
+                } else {
+                    count++;
+                    i++;
+                    j++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        Container and(Container other) {
+            ArrayContainer result = new ArrayContainer();
+            result.values = new char[Math.max(1, cardinality)];
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    result.values[result.cardinality++] = values[i];
+                }
+            }
+            return result;
+        }
+
+        @Override
+        Container addAll(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                Container result = bitmap.copy();
+                for (int i = 0; i < cardinality; i++) {
+                    result = result.add(values[i]);
+                }
+                return result;
+            }
+            // 정렬된 두 배열 병합
+            ArrayContainer array = (ArrayContainer) other;
+            char[] merged = new char[cardinality + array.cardinality];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    merged[n++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    merged[n++] = array.values[j++];
+                } else {
+                    merged[n++] = values[i++];
+                    j++;
+                }
+            }
+            ArrayContainer result = new ArrayContainer();
+            result.values = merged;
+            result.cardinality = n;
+            return (n > ARRAY_MAX) ? result.toBitmap() : result;
+        }
+
+        @Override
+        Container copy() {
+            ArrayContainer result = new ArrayContainer();
+            result.values = Arrays.copyOf(values, Math.max(1, cardinality));
+            result.cardinality = cardinality;
+            return result;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        final long[] words = new long[1 << 10];
+        int cardinality;
+
+        @Override
+        Container add(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before | (1L << value);
+            if (before != words[value >>> 6]) {
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before & ~(1L << value);
+            if (before != words[value >>> 6]) {
+                cardinality--;
+            }
+            return (cardinality <= ARRAY_MAX) ? toArray() : this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        int andCardinality(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.andCardinality(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int i = 0; i < words.length; i++) {
+                count += Long.bitCount(words[i] & otherWords[i]);
+            }
+            return count;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            BitmapContainer result = new BitmapContainer();
+            for (int i = 0; i < words.length; i++) {
+                result.words[i] = words[i] & otherWords[i];
+                result.cardinality += Long.bitCount(result.words[i]);
+            }
+            return (result.cardinality <= ARRAY_MAX) ? result.toArray() : result;
+        }
+
+        @Override
+        Container addAll(Container other) {
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    add(array.values[i]);
+                }
+                return this;
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            cardinality = 0;
+            for (int i = 0; i < words.length; i++) {
+                words[i] |= otherWords[i];
+                cardinality += Long.bitCount(words[i]);
+            }
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            BitmapContainer result = new BitmapContainer();
+            System.arraycopy(words, 0, result.words, 0, words.length);
+            result.cardinality = cardinality;
+            return result;
+        }
+
+        private ArrayContainer toArray() {
+            ArrayContainer array = new ArrayContainer();
+            array.values = new char[Math.max(1, cardinality)];
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    array.values[array.cardinality++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return array;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.bookstore.book.search;
+
+import com.example.bookstore.book.entity.Book;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * 검색 인덱스에 보관하는 도서 스냅샷 (불변)
+ * - 검색/필터/정렬에 필요한 컬럼만 들고 있어서,
+ *   한 페이지 분량의 id 가 정해지기 전까지는 DB 를 보지 않아도 된다.
+ */
+public final class IndexedBook {
+
+    private final Long id;
+    private final String title;
+    private final String author;
+    private final Long categoryId;
+    private final int price;
+    private final int stock;
+    private final double averageRating;
+    private final long reviewCount;
+    private final LocalDateTime createdAt;
+
+    public IndexedBook(Long id, String title, String author, Long categoryId,
+                       int price, int stock, double averageRating,
+                       long reviewCount, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.categoryId = categoryId;
+        this.price = price;
+        this.stock = stock;
+        this.averageRating = averageRating;
+        this.reviewCount = reviewCount;
+        this.createdAt = createdAt;
+    }
+
+    public static IndexedBook from(Book book) {
+        return new IndexedBook(
+                book.getId(),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getCategoryId(),
+                book.getPrice(),
+                book.getStock(),
+                book.getAverageRating(),
+                book.getReviewCount(),
+                book.getCreatedAt()
+        );
+    }
+
+    /**
+     * Spring Data Sort 를 메모리 정렬용 Comparator 로 변환
+     * - 마지막에 id 오름차순을 붙여서 순서가 항상 결정되도록 한다.
+     * - 지원하지 않는 정렬 필드가 있으면 null (호출 측에서 DB 조회로 우회)
+     */
+    public static Comparator<IndexedBook> comparator(Sort sort) {
+        Comparator<IndexedBook> comparator = null;
+
+        for (Sort.Order order : sort) {
+            Comparator<IndexedBook> next = comparatorOf(order.getProperty());
+            if (next == null) {
+                return null;
+            }
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = (comparator == null) ? next : comparator.thenComparing(next);
+        }
+
+        Comparator<IndexedBook> byId = Comparator.comparing(IndexedBook::getId);
+        return (comparator == null) ? byId : comparator.thenComparing(byId);
+    }
+
+    private static Comparator<IndexedBook> comparatorOf(String property) {
+        return switch (property) {
+            case "id" -> Comparator.comparing(IndexedBook::getId);
+            case "title" -> nullsLast(IndexedBook::getTitle);
+            case "author" -> nullsLast(IndexedBook::getAuthor);
+            case "categoryId" -> nullsLast(IndexedBook::getCategoryId);
+            case "price" -> Comparator.comparingInt(IndexedBook::getPrice);
+            case "stock" -> Comparator.comparingInt(IndexedBook::getStock);
+            case "averageRating" -> Comparator.comparingDouble(IndexedBook::getAverageRating);
+            case "reviewCount" -> Comparator.comparingLong(IndexedBook::getReviewCount);
+            case "createdAt" -> nullsLast(IndexedBook::getCreatedAt);
+            default -> null;
+        };
+    }
+
+    private static <U extends Comparable<? super U>> Comparator<IndexedBook> nullsLast(
+            Function<IndexedBook, U> keyExtractor) {
+        return Comparator.comparing(keyExtractor, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getAuthor() { return author; }
+    public Long getCategoryId() { return categoryId; }
+    public int getPrice() { return price; }
+    public int getStock() { return stock; }
+    public double getAverageRating() { return averageRating; }
+    public long getReviewCount() { return reviewCount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
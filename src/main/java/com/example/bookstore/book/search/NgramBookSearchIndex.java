@@ -0,0 +1,211 @@
+package com.example.bookstore.book.search;
+
+import com.example.bookstore.book.entity.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 제목/저자 n-gram 역색인 기반 BookSearchIndex 기본 구현
+ * - 읽기(검색)는 동시에 여러 개, 쓰기(upsert/remove)는 하나씩 (ReadWriteLock)
+ * - rebuild 는 락 밖에서 새 상태를 만든 뒤 교체만 락 안에서 한다.
+ */
+@Component
+public class NgramBookSearchIndex implements BookSearchIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State();
+    private volatile boolean ready = false;
+
+    @Override
+    public void rebuild(List<Book> books) {
+        State fresh = new State();
+        for (Book book : books) {
+            fresh.put(IndexedBook.from(book));
+        }
+
+        lock.writeLock().lock();
+        try {
+            state = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+    }
+
+    @Override
+    public void upsert(Book book) {
+        IndexedBook snapshot = IndexedBook.from(book);
+
+        lock.writeLock().lock();
+        try {
+            state.put(snapshot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            state.remove(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public List<IndexedBook> search(String keyword, Long categoryId) {
+        String query = NgramIndex.normalize(keyword);
+
+        lock.readLock().lock();
+        try {
+            List<IndexedBook> result = new ArrayList<>();
+            for (Long id : state.match(query)) {
+                IndexedBook book = state.books.get(id);
+                if (categoryId == null || categoryId.equals(book.getCategoryId())) {
+                    result.add(book);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public RankedHits rank(String keyword, Long categoryId, BookFilter filter, int limit) {
+        String query = NgramIndex.normalize(keyword);
+        List<String> terms = NgramIndex.queryGrams(query);
+
+        lock.readLock().lock();
+        try {
+            // 토큰별 idf 는 후보마다 같으므로 한 번만 계산 (df = 제목/저자 중 하나라도 포함한 도서 수)
+            int docCount = state.books.size();
+            double[] idf = new double[terms.size()];
+            for (int i = 0; i < terms.size(); i++) {
+                idf[i] = Bm25.idf(docCount, state.documentFrequency(terms.get(i)));
+            }
+            double titleAvg = state.titles.averageLength();
+            double authorAvg = state.authors.averageLength();
+
+            // 점수가 가장 낮은 후보가 head 에 오는 min-heap (크기 limit 유지)
+            PriorityQueue<Scored> heap = new PriorityQueue<>(Scored.WORST_FIRST);
+            int total = 0;
+
+            for (Long id : state.match(query)) {
+                IndexedBook book = state.books.get(id);
+                if (categoryId != null && !categoryId.equals(book.getCategoryId())) {
+                    continue;
+                }
+                if (!filter.isEmpty() && !filter.test(book)) {
+                    continue;
+                }
+                total++;
+                if (limit <= 0) {
+                    continue;
+                }
+
+                String title = state.titles.text(id);
+                String author = state.authors.text(id);
+                double score = 0.0;
+                for (int i = 0; i < terms.size(); i++) {
+                    String term = terms.get(i);
+                    double weightedTf =
+                            Bm25.TITLE_BOOST * Bm25.normalizedTf(
+                                    NgramIndex.termFrequency(title, term), title.length(), titleAvg)
+                            + Bm25.AUTHOR_BOOST * Bm25.normalizedTf(
+                                    NgramIndex.termFrequency(author, term), author.length(), authorAvg);
+                    score += Bm25.termScore(idf[i], weightedTf);
+                }
+
+                Scored candidate = new Scored(book, score);
+                if (heap.size() < limit) {
+                    heap.add(candidate);
+                } else if (Scored.WORST_FIRST.compare(candidate, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(candidate);
+                }
+            }
+
+            // heap 은 나쁜 순서로 꺼내지므로 뒤집어서 점수 내림차순으로
+            List<IndexedBook> hits = new ArrayList<>(heap.size());
+            while (!heap.isEmpty()) {
+                hits.add(heap.poll().book);
+            }
+            Collections.reverse(hits);
+            return new RankedHits(hits, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Scored {
+        // 점수 낮은 순, 동점이면 id 큰 순 (= 결과에서 뒤에 올 후보가 먼저)
+        static final Comparator<Scored> WORST_FIRST = Comparator
+                .comparingDouble((Scored s) -> s.score)
+                .thenComparing(s -> s.book.getId(), Comparator.reverseOrder());
+
+        final IndexedBook book;
+        final double score;
+
+        Scored(IndexedBook book, double score) {
+            this.book = book;
+            this.score = score;
+        }
+    }
+
+    // 필드별 n-gram 색인 + 도서 스냅샷
+    private static class State {
+        final Map<Long, IndexedBook> books = new HashMap<>();
+        final NgramIndex titles = new NgramIndex();
+        final NgramIndex authors = new NgramIndex();
+
+        void put(IndexedBook book) {
+            books.put(book.getId(), book);
+            titles.put(book.getId(), NgramIndex.normalize(book.getTitle()));
+            authors.put(book.getId(), NgramIndex.normalize(book.getAuthor()));
+        }
+
+        // 제목 또는 저자에 질의가 포함된 도서 id
+        Set<Long> match(String query) {
+            Set<Long> ids = new HashSet<>(titles.find(query));
+            ids.addAll(authors.find(query));
+            return ids;
+        }
+
+        int documentFrequency(String gram) {
+            Set<Long> inTitle = titles.postings(gram);
+            int df = inTitle.size();
+            for (Long id : authors.postings(gram)) {
+                if (!inTitle.contains(id)) {
+                    df++;
+                }
+            }
+            return df;
+        }
+
+        void remove(Long id) {
+            books.remove(id);
+            titles.remove(id);
+            authors.remove(id);
+        }
+    }
+}
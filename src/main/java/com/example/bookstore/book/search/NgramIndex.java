@@ -0,0 +1,151 @@
+package com.example.bookstore.book.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 문자 n-gram(1-gram + 2-gram) 역색인
+ * - 한글은 띄어쓰기/조사 때문에 단어 단위 색인이 잘 안 맞아서 글자 단위로 자른다.
+ *   예) "자바의 정석" -> 자, 바, 의, ..., "자바", "바의", "의 ", " 정", "정석"
+ * - 조회 시 질의의 2-gram 포스팅을 교집합한 뒤, 실제 부분 문자열 포함 여부로 한 번 더 검증한다.
+ *   (LIKE '%keyword%' 와 같은 결과를 보장)
+ * - 동기화는 사용하는 쪽(NgramBookSearchIndex 등)에서 책임진다.
+ */
+final class NgramIndex {
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, String> texts = new HashMap<>();
+    private long totalLength = 0L;
+
+    static String normalize(String text) {
+        return (text == null) ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 질의/문서를 같은 방식으로 자르기 위한 gram 목록 (중복 제거, 등장 순서 유지)
+     * - 1글자 질의는 1-gram, 그 외에는 2-gram 만 사용
+     */
+    static List<String> queryGrams(String normalized) {
+        if (normalized.length() <= 1) {
+            return normalized.isEmpty() ? List.of() : List.of(normalized);
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + 2));
+        }
+        return new ArrayList<>(grams);
+    }
+
+    private static Set<String> documentGrams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + 1));
+            if (i + 2 <= normalized.length()) {
+                grams.add(normalized.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    void put(Long id, String normalized) {
+        remove(id);
+        texts.put(id, normalized);
+        totalLength += normalized.length();
+        for (String gram : documentGrams(normalized)) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+        }
+    }
+
+    void remove(Long id) {
+        String old = texts.remove(id);
+        if (old == null) {
+            return;
+        }
+        totalLength -= old.length();
+        for (String gram : documentGrams(old)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    String text(Long id) {
+        return texts.get(id);
+    }
+
+    int size() {
+        return texts.size();
+    }
+
+    // ====== BM25 통계 ======
+
+    /**
+     * gram 을 포함한 문서 id (읽기 전용, 없으면 빈 집합)
+     */
+    Set<Long> postings(String gram) {
+        Set<Long> ids = postings.get(gram);
+        return (ids == null) ? Collections.emptySet() : Collections.unmodifiableSet(ids);
+    }
+
+    /**
+     * 문서 평균 길이 (글자 수 기준)
+     */
+    double averageLength() {
+        return texts.isEmpty() ? 0.0 : (double) totalLength / texts.size();
+    }
+
+    /**
+     * text 안에서 gram 이 등장한 횟수 (겹치는 위치도 센다: "aaa" 안의 "aa" = 2)
+     */
+    static int termFrequency(String text, String gram) {
+        int count = 0;
+        int from = text.indexOf(gram);
+        while (from >= 0) {
+            count++;
+            from = text.indexOf(gram, from + 1);
+        }
+        return count;
+    }
+
+    /**
+     * normalized 질의를 부분 문자열로 포함하는 문서 id 집합
+     */
+    Set<Long> find(String normalizedQuery) {
+        List<String> grams = queryGrams(normalizedQuery);
+        if (grams.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        // 가장 짧은 포스팅부터 교집합해야 중간 결과가 빨리 줄어든다.
+        List<Set<Long>> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+
+        // 2-gram 교집합은 후보일 뿐이므로 실제 포함 여부로 거른다. ("자바" + "바스" != "자바스")
+        result.removeIf(id -> !texts.get(id).contains(normalizedQuery));
+        return result;
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.bookstore.book.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 배열로 압축한 불변 prefix trie (자동완성용)
+ * - 노드는 BFS 순서로 번호를 매겨 자식들이 항상 연속된 구간에 놓이도록 한다.
+ *   (labels / firstChild / childCount 세 배열만으로 탐색, 자식 검색은 이진 탐색)
+ * - 각 노드에 "이 prefix 로 시작하는 항목 중 인기도 상위 topN" 을 미리 계산해 둔다.
+ *   조회 비용은 prefix 길이에만 비례하고 후보 수와 무관하다.
+ * - 한 번 만들면 바꾸지 않는다. 카탈로그가 바뀌면 새로 만들어 통째로 교체한다.
+ */
+final class PrefixTrie {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final char[] labels;        // 부모에서 이 노드로 오는 글자 (루트는 사용 안 함)
+    private final int[] firstChild;     // 첫 자식 노드 번호
+    private final int[] childCount;     // 자식 수 (자식들은 label 오름차순으로 연속 배치)
+    private final int[] topOffset;      // 노드별 상위 항목 구간 [topOffset[n], topOffset[n + 1])
+    private final int[] topEntries;     // 항목 번호 (인기도 내림차순)
+
+    private PrefixTrie(char[] labels, int[] firstChild, int[] childCount,
+                       int[] topOffset, int[] topEntries) {
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topOffset = topOffset;
+        this.topEntries = topEntries;
+    }
+
+    /**
+     * @param keys       색인할 문자열 (이미 정규화된 값)
+     * @param entries    keys[i] 가 가리키는 항목 번호 (한 항목이 여러 key 를 가질 수 있다)
+     * @param popularity 항목 번호별 인기도
+     * @param topN       노드마다 보관할 상위 항목 수
+     */
+    static PrefixTrie build(String[] keys, int[] entries, long[] popularity, int topN) {
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer, String>comparing(i -> keys[i]).thenComparingInt(i -> entries[i]));
+
+        // 항목 우선순위(인기도 내림차순, 같으면 번호 오름차순)를 순위 번호로 바꿔 두면
+        // 이후에는 int 정렬만으로 상위 항목을 고를 수 있다.
+        Integer[] byRank = new Integer[popularity.length];
+        for (int e = 0; e < byRank.length; e++) {
+            byRank[e] = e;
+        }
+        Arrays.sort(byRank, Comparator.<Integer>comparingLong(e -> -popularity[e]).thenComparingInt(e -> e));
+        int[] rankOf = new int[popularity.length];
+        for (int r = 0; r < byRank.length; r++) {
+            rankOf[byRank[r]] = r;
+        }
+
+        // 1) BFS 로 노드 구간 분할: 노드 = 정렬된 key 중 같은 prefix(depth 글자)를 가진 구간
+        List<int[]> ranges = new ArrayList<>();     // {lo, hi, depth}
+        StringBuilder labelBuf = new StringBuilder();
+        List<Integer> firstChildBuf = new ArrayList<>();
+        List<Integer> childCountBuf = new ArrayList<>();
+        List<Integer> terminalEnd = new ArrayList<>(); // 구간 앞쪽의 "여기서 끝나는 key" 끝 위치
+
+        ranges.add(new int[]{0, keys.length, 0});
+        labelBuf.append('\0');
+
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            int[] range = ranges.get(node);
+            int lo = range[0];
+            int hi = range[1];
+            int depth = range[2];
+
+            // 길이가 depth 인 key 는 정렬상 구간 맨 앞에 모인다.
+            int i = lo;
+            while (i < hi && keys[order[i]].length() == depth) {
+                i++;
+            }
+            terminalEnd.add(node, i);
+
+            int first = ranges.size();
+            while (i < hi) {
+                char c = keys[order[i]].charAt(depth);
+                int j = i + 1;
+                while (j < hi && keys[order[j]].charAt(depth) == c) {
+                    j++;
+                }
+                int child = ranges.size();
+                ranges.add(new int[]{i, j, depth + 1});
+                labelBuf.append(c);
+                queue.add(child);
+                i = j;
+            }
+            firstChildBuf.add(node, first);
+            childCountBuf.add(node, ranges.size() - first);
+        }
+
+        int nodeCount = ranges.size();
+        char[] labels = labelBuf.toString().toCharArray();
+        int[] firstChild = new int[nodeCount];
+        int[] childCount = new int[nodeCount];
+        for (int n = 0; n < nodeCount; n++) {
+            firstChild[n] = firstChildBuf.get(n);
+            childCount[n] = childCountBuf.get(n);
+        }
+
+        // 2) 상위 항목 계산: 자식이 항상 부모보다 번호가 크므로 뒤에서부터 합친다. (값은 순위 번호)
+        int[][] tops = new int[nodeCount][];
+        for (int n = nodeCount - 1; n >= 0; n--) {
+            int terminals = terminalEnd.get(n) - ranges.get(n)[0];
+            int size = terminals;
+            for (int c = firstChild[n]; c < firstChild[n] + childCount[n]; c++) {
+                size += tops[c].length;
+            }
+
+            int[] candidates = new int[size];
+            int k = 0;
+            for (int t = ranges.get(n)[0]; t < terminalEnd.get(n); t++) {
+                candidates[k++] = rankOf[entries[order[t]]];
+            }
+            for (int c = firstChild[n]; c < firstChild[n] + childCount[n]; c++) {
+                System.arraycopy(tops[c], 0, candidates, k, tops[c].length);
+                k += tops[c].length;
+            }
+            tops[n] = topDistinct(candidates, topN);
+        }
+        for (int[] top : tops) {
+            for (int i = 0; i < top.length; i++) {
+                top[i] = byRank[top[i]];
+            }
+        }
+
+        // 3) 노드별 상위 목록을 하나의 배열로 이어 붙인다.
+        int[] topOffset = new int[nodeCount + 1];
+        for (int n = 0; n < nodeCount; n++) {
+            topOffset[n + 1] = topOffset[n] + tops[n].length;
+        }
+        int[] topEntries = new int[topOffset[nodeCount]];
+        for (int n = 0; n < nodeCount; n++) {
+            System.arraycopy(tops[n], 0, topEntries, topOffset[n], tops[n].length);
+        }
+
+        return new PrefixTrie(labels, firstChild, childCount, topOffset, topEntries);
+    }
+
+    // 순위 번호가 작은 순으로 중복 없이 topN 개 (한 항목이 여러 key 로 들어올 수 있다)
+    private static int[] topDistinct(int[] ranks, int topN) {
+        Arrays.sort(ranks);
+        int[] result = new int[Math.min(topN, ranks.length)];
+        int size = 0;
+        for (int i = 0; i < ranks.length && size < result.length; i++) {
+            if (i == 0 || ranks[i] != ranks[i - 1]) {
+                result[size++] = ranks[i];
+            }
+        }
+        return (size == result.length) ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * prefix 로 시작하는 항목 중 인기도 상위 (최대 topN 개, 인기도 내림차순)
+     */
+    int[] top(String prefix) {
+        int node = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = child(node, prefix.charAt(i));
+            if (node < 0) {
+                return EMPTY;
+            }
+        }
+        return Arrays.copyOfRange(topEntries, topOffset[node], topOffset[node + 1]);
+    }
+
+    int nodeCount() {
+        return firstChild.length;
+    }
+
+    private int child(int node, char c) {
+        int lo = firstChild[node];
+        int hi = lo + childCount[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (labels[mid] < c) {
+                lo = mid + 1;
+            } else if (labels[mid] > c) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
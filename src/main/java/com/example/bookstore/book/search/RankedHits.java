@@ -0,0 +1,22 @@
+package com.example.bookstore.book.search;
+
+import java.util.List;
+
+/**
+ * 관련도 검색 결과
+ * - hits: BM25 점수 상위 도서 (점수 내림차순, 동점이면 id 오름차순)
+ * - totalHits: 키워드에 매칭된 전체 도서 수 (페이지 계산용)
+ */
+public final class RankedHits {
+
+    private final List<IndexedBook> hits;
+    private final int totalHits;
+
+    public RankedHits(List<IndexedBook> hits, int totalHits) {
+        this.hits = hits;
+        this.totalHits = totalHits;
+    }
+
+    public List<IndexedBook> getHits() { return hits; }
+    public int getTotalHits() { return totalHits; }
+}
@@ -0,0 +1,27 @@
+package com.example.bookstore.book.search;
+
+import com.example.bookstore.common.exception.BusinessException;
+import com.example.bookstore.common.exception.ErrorCode;
+
+/**
+ * 키워드 매칭 방식
+ * - DEFAULT: 제목/저자 부분 문자열 (대소문자 무시)
+ * - CHOSUNG: 초성("ㅈㅂㅇㅈㅅ") 또는 입력 중인 자모("자바ㅇ") 매칭 (HangulSearchIndex)
+ */
+public enum SearchMode {
+    DEFAULT,
+    CHOSUNG;
+
+    public static SearchMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT;
+        }
+        for (SearchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM,
+                "지원하지 않는 검색 모드입니다: " + value);
+    }
+}
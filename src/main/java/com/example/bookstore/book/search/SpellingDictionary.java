@@ -0,0 +1,310 @@
+package com.example.bookstore.book.search;
+
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.index.CatalogIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * 오타 교정용 symmetric-delete 사전 (SymSpell 방식)
+ * - 제목/저자의 단어마다 "글자를 최대 2개 지운 문자열" 을 미리 만들어 두고,
+ *   검색어도 같은 방식으로 지워서 겹치는 단어만 후보로 삼는다. (사전 전체와 거리 계산 X)
+ * - 삭제 문자열은 단어 앞 PREFIX_LENGTH 글자에서만 만든다. 단어가 길어도 단어당 항목 수가 일정하다.
+ * - 단어 수는 max-terms 로 제한한다. 가득 차면 새 단어는 다음 rebuild 까지 사전에 넣지 않는다.
+ * - 도서별 단어 목록을 들고 있어 upsert/remove 시 바뀐 단어만 반영한다.
+ */
+@Component
+public class SpellingDictionary implements CatalogIndex {
+
+    static final int MAX_EDIT_DISTANCE = 2;
+    private static final int PREFIX_LENGTH = 7;
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int maxTerms;
+
+    private State state;
+
+    public SpellingDictionary(@Value("${bookstore.search.spelling.max-terms:50000}") int maxTerms) {
+        this.maxTerms = maxTerms;
+        this.state = new State(maxTerms);
+    }
+
+    @Override
+    public void rebuild(List<Book> books) {
+        State fresh = new State(maxTerms);
+        for (Book book : books) {
+            fresh.put(book.getId(), terms(book));
+        }
+
+        lock.writeLock().lock();
+        try {
+            state = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 제목/저자만 쓰므로 재고 변경(주문)마다 다시 반영할 필요가 없다.
+    @Override
+    public boolean ignoresStockChanges() {
+        return true;
+    }
+
+    @Override
+    public void upsert(Book book) {
+        Set<String> terms = terms(book);
+
+        lock.writeLock().lock();
+        try {
+            state.put(book.getId(), terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            state.remove(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어 교정
+     * - 단어별로 사전에 있으면 그대로, 없으면 편집 거리 1~2 안에서 가장 가깝고(동률이면 더 많은 도서에 나오는) 단어로 바꾼다.
+     * - 바뀐 단어가 하나도 없으면 null
+     */
+    public String correct(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+
+        String[] words = query.trim().split("\\s+");
+        boolean changed = false;
+
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < words.length; i++) {
+                String suggestion = state.lookup(words[i].toLowerCase(Locale.ROOT));
+                if (suggestion != null) {
+                    words[i] = suggestion;
+                    changed = true;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return changed ? String.join(" ", words) : null;
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return state.counts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<String> terms(Book book) {
+        Set<String> terms = new HashSet<>();
+        addTerms(terms, book.getTitle());
+        addTerms(terms, book.getAuthor());
+        return terms;
+    }
+
+    private static void addTerms(Set<String> terms, String text) {
+        if (text == null) {
+            return;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TERM_LENGTH) {
+                terms.add(token);
+            }
+        }
+    }
+
+    // 짧은 단어일수록 허용 거리를 줄인다. (2글자 단어를 2글자 고치면 아무 단어나 된다)
+    private static int maxDistance(String word) {
+        return Math.min(MAX_EDIT_DISTANCE, word.length() / 3 + 1);
+    }
+
+    // 단어 앞 PREFIX_LENGTH 글자에서 최대 distance 글자를 지운 문자열 전부 (자기 자신 포함)
+    static Set<String> deletes(String word, int distance) {
+        String prefix = (word.length() > PREFIX_LENGTH) ? word.substring(0, PREFIX_LENGTH) : word;
+        Set<String> result = new LinkedHashSet<>();
+        result.add(prefix);
+        collectDeletes(prefix, distance, result);
+        return result;
+    }
+
+    private static void collectDeletes(String word, int distance, Set<String> result) {
+        if (distance == 0 || word.length() <= 1) {
+            return;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            String deleted = word.substring(0, i) + word.substring(i + 1);
+            if (result.add(deleted)) {
+                collectDeletes(deleted, distance - 1, result);
+            }
+        }
+    }
+
+    /**
+     * 제한 편집 거리 (Damerau-Levenshtein, 인접 전치 1회 = 거리 1)
+     * - max 를 넘으면 계산을 멈추고 max + 1 을 돌려준다.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+
+        int[] prevPrev = new int[b.length() + 1];
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = (a.charAt(i - 1) == b.charAt(j - 1)) ? 0 : 1;
+                int value = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1
+                        && a.charAt(i - 1) == b.charAt(j - 2)
+                        && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, prevPrev[j - 2] + 1);
+                }
+                cur[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] tmp = prevPrev;
+            prevPrev = prev;
+            prev = cur;
+            cur = tmp;
+        }
+        return prev[b.length()];
+    }
+
+    private static class State {
+        final int maxTerms;
+        final Map<Long, Set<String>> bookTerms = new HashMap<>();
+        final Map<String, Integer> counts = new HashMap<>();          // 단어 -> 등장 도서 수
+        final Map<String, Set<String>> deletes = new HashMap<>();     // 삭제 문자열 -> 원래 단어들
+
+        State(int maxTerms) {
+            this.maxTerms = maxTerms;
+        }
+
+        void put(Long bookId, Set<String> terms) {
+            Set<String> previous = bookTerms.put(bookId, terms);
+            if (previous != null) {
+                for (String term : previous) {
+                    if (!terms.contains(term)) {
+                        decrement(term);
+                    }
+                }
+            }
+            for (String term : terms) {
+                if (previous == null || !previous.contains(term)) {
+                    increment(term);
+                }
+            }
+        }
+
+        void remove(Long bookId) {
+            Set<String> previous = bookTerms.remove(bookId);
+            if (previous != null) {
+                previous.forEach(this::decrement);
+            }
+        }
+
+        private void increment(String term) {
+            Integer count = counts.get(term);
+            if (count != null) {
+                counts.put(term, count + 1);
+                return;
+            }
+            if (counts.size() >= maxTerms) {
+                return; // 사전이 가득 참 -> 이 단어는 교정 후보에서 빠진다.
+            }
+            counts.put(term, 1);
+            for (String deleted : SpellingDictionary.deletes(term, MAX_EDIT_DISTANCE)) {
+                deletes.computeIfAbsent(deleted, k -> new HashSet<>(2)).add(term);
+            }
+        }
+
+        private void decrement(String term) {
+            Integer count = counts.get(term);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                counts.put(term, count - 1);
+                return;
+            }
+            counts.remove(term);
+            for (String deleted : SpellingDictionary.deletes(term, MAX_EDIT_DISTANCE)) {
+                Set<String> terms = deletes.get(deleted);
+                if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                    deletes.remove(deleted);
+                }
+            }
+        }
+
+        // 사전에 있거나 고칠 후보가 없으면 null
+        String lookup(String word) {
+            if (word.length() < MIN_TERM_LENGTH || counts.containsKey(word)) {
+                return null;
+            }
+
+            int max = maxDistance(word);
+            String best = null;
+            int bestDistance = max + 1;
+            int bestCount = 0;
+
+            for (String deleted : SpellingDictionary.deletes(word, max)) {
+                Set<String> candidates = deletes.get(deleted);
+                if (candidates == null) {
+                    continue;
+                }
+                for (String candidate : candidates) {
+                    int d = distance(word, candidate, max);
+                    if (d > max) {
+                        continue;
+                    }
+                    int count = counts.get(candidate);
+                    if (d < bestDistance
+                            || (d == bestDistance && count > bestCount)
+                            || (d == bestDistance && count == bestCount && candidate.compareTo(best) < 0)) {
+                        best = candidate;
+                        bestDistance = d;
+                        bestCount = count;
+                    }
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.bookstore.book.search;
+
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.index.CatalogIndex;
+import com.example.bookstore.book.repository.BookRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 평점 상위 도서 리더보드 (평균 평점 내림차순 -> 리뷰 수 내림차순 -> id 오름차순)
+ * - 전체 도서가 아니라 상위 capacity 권만 skip list 에 들고 있는다.
+ *   보드 안의 도서는 항상 "정확한 상위 N 권" 이 되도록 유지한다.
+ *   (보드 밖 도서는 보드 꼴찌보다 좋아져야만 들어오고, 보드 안 도서가 꼴찌보다 나빠지면 빠진다)
+ * - 빠지는 도서가 쌓여 MAX_SIZE 보다 작아지면 DB 에서 상위 capacity 권을 다시 읽는다.
+ * - 읽기는 락 없이 skip list 앞에서부터 size 개, 쓰기(리뷰 변경 후 upsert)는 하나씩.
+ * - 보관하는 Book 은 동기화 시점에 읽은 detached 엔티티이며 읽기 전용으로만 쓴다.
+ * - 기동 직후 rebuild 전에는 DB 에서 바로 읽는다.
+ */
+@Component
+public class TopRatedLeaderboard implements CatalogIndex {
+
+    public static final int MAX_SIZE = 100;
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingDouble((Entry e) -> e.averageRating).reversed()
+            .thenComparing(Comparator.comparingLong((Entry e) -> e.reviewCount).reversed())
+            .thenComparingLong(e -> e.id);
+
+    private final BookRepository bookRepository;
+    private final int capacity;
+
+    private final ConcurrentSkipListSet<Entry> board = new ConcurrentSkipListSet<>(RANKING);
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // 전체 도서가 보드에 다 들어가 있는지 (이때는 꼴찌보다 나빠도 빼지 않는다)
+    private boolean complete = true;
+    private volatile boolean ready = false;
+
+    public TopRatedLeaderboard(BookRepository bookRepository,
+                               @Value("${bookstore.leaderboard.capacity:200}") int capacity) {
+        this.bookRepository = bookRepository;
+        this.capacity = Math.max(capacity, MAX_SIZE);
+    }
+
+    @Override
+    public synchronized void rebuild(List<Book> books) {
+        List<Entry> all = new ArrayList<>(books.size());
+        for (Book book : books) {
+            all.add(new Entry(book));
+        }
+        all.sort(RANKING);
+        reset(all.subList(0, Math.min(capacity, all.size())), all.size() <= capacity);
+        ready = true;
+    }
+
+    @Override
+    public synchronized void upsert(Book book) {
+        Entry next = new Entry(book);
+        Entry previous = entries.remove(book.getId());
+        if (previous != null) {
+            board.remove(previous);
+        }
+
+        if (complete || board.isEmpty() || RANKING.compare(next, board.last()) < 0) {
+            add(next);
+            if (board.size() > capacity) {
+                Entry evicted = board.pollLast();
+                entries.remove(evicted.id);
+                complete = false;
+            }
+        }
+        // else: 꼴찌보다 나쁨 -> 보드 밖 도서 중에 더 나은 게 있을 수 있으므로 넣지 않는다.
+
+        refillIfShort();
+    }
+
+    @Override
+    public synchronized void remove(Long bookId) {
+        Entry previous = entries.remove(bookId);
+        if (previous != null) {
+            board.remove(previous);
+            refillIfShort();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 평점 상위 size 권 (최대 MAX_SIZE)
+     */
+    public List<Book> top(int size) {
+        int limit = Math.min(size, MAX_SIZE);
+        if (!ready) {
+            return loadTop(limit);
+        }
+        List<Book> result = new ArrayList<>(limit);
+        for (Entry entry : board) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(entry.book);
+        }
+        return result;
+    }
+
+    private void refillIfShort() {
+        if (complete || board.size() >= MAX_SIZE) {
+            return;
+        }
+        List<Book> books = loadTop(capacity);
+        List<Entry> top = new ArrayList<>(books.size());
+        for (Book book : books) {
+            top.add(new Entry(book));
+        }
+        reset(top, books.size() < capacity);
+    }
+
+    private List<Book> loadTop(int limit) {
+        Sort sort = Sort.by(Sort.Direction.DESC, "averageRating")
+                .and(Sort.by(Sort.Direction.DESC, "reviewCount"))
+                .and(Sort.by(Sort.Direction.ASC, "id"));
+        return bookRepository.findAll(PageRequest.of(0, limit, sort)).getContent();
+    }
+
+    private void reset(List<Entry> top, boolean complete) {
+        board.clear();
+        entries.clear();
+        top.forEach(this::add);
+        this.complete = complete;
+    }
+
+    private void add(Entry entry) {
+        board.add(entry);
+        entries.put(entry.id, entry);
+    }
+
+    private static final class Entry {
+        final long id;
+        final double averageRating;
+        final long reviewCount;
+        final Book book;
+
+        Entry(Book book) {
+            this.id = book.getId();
+            this.averageRating = book.getAverageRating();
+            this.reviewCount = book.getReviewCount();
+            this.book = book;
+        }
+    }
+}
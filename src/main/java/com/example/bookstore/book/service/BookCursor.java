@@ -0,0 +1,260 @@
+package com.example.bookstore.book.service;
+
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.search.IndexedBook;
+import com.example.bookstore.common.exception.BusinessException;
+import com.example.bookstore.common.exception.ErrorCode;
+import com.example.bookstore.common.response.CursorResponse;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 도서 목록 keyset(seek) 커서
+ * - 커서 = 정렬 조건 서명 + 마지막 행의 정렬 키 값들 (마지막 키는 항상 id)
+ * - 다음 페이지는 "(정렬 키, id) 가 커서보다 뒤인 행" 을 조건으로 LIMIT size+1 만 조회한다.
+ *   OFFSET 으로 앞 행을 버리지 않으므로 몇 페이지를 넘겨도 비용이 같다.
+ * - 토큰은 각 파트를 base64url 로 인코딩해 '.' 으로 이은 문자열 (클라이언트는 해석하지 않는다)
+ */
+final class BookCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final List<Key> keys;
+    private final List<Sort.Direction> directions;
+    private final List<Comparable<Object>> values;
+
+    private BookCursor(List<Key> keys, List<Sort.Direction> directions, List<Comparable<Object>> values) {
+        this.keys = keys;
+        this.directions = directions;
+        this.values = values;
+    }
+
+    /**
+     * 요청 정렬 뒤에 id 를 붙여 순서가 항상 유일하게 결정되도록 한다.
+     * (커서로 쓸 수 없는 정렬 필드면 400)
+     */
+    static Sort keysetSort(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            Key.of(order.getProperty());
+            orders.add(order);
+            if ("id".equals(order.getProperty())) {
+                hasId = true;
+                break; // id 뒤의 정렬은 의미가 없다
+            }
+        }
+        if (!hasId) {
+            orders.add(Sort.Order.asc("id"));
+        }
+        return Sort.by(orders);
+    }
+
+    /**
+     * after 토큰 해석 (keysetSort 로 만든 정렬과 서명이 다르면 400)
+     */
+    static BookCursor decode(String token, Sort keysetSort) {
+        String[] parts = token.split("\\.", -1);
+        List<Sort.Order> orders = keysetSort.toList();
+
+        if (parts.length != orders.size() + 1 || !signature(keysetSort).equals(decodePart(parts[0]))) {
+            throw invalid();
+        }
+
+        List<Key> keys = new ArrayList<>(orders.size());
+        List<Sort.Direction> directions = new ArrayList<>(orders.size());
+        List<Comparable<Object>> values = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Key key = Key.of(orders.get(i).getProperty());
+            keys.add(key);
+            directions.add(orders.get(i).getDirection());
+            try {
+                values.add(key.parse(decodePart(parts[i + 1])));
+            } catch (RuntimeException e) {
+                throw invalid();
+            }
+        }
+        return new BookCursor(keys, directions, values);
+    }
+
+    /**
+     * 조회 결과(size+1 개까지)를 커서 응답으로 변환
+     */
+    static CursorResponse<Book> toResponse(List<Book> rows, int size, Sort keysetSort) {
+        boolean hasNext = rows.size() > size;
+        List<Book> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? encode(content.get(content.size() - 1), keysetSort) : null;
+        return new CursorResponse<>(content, size, hasNext, nextCursor);
+    }
+
+    /**
+     * 메모리 인덱스 결과용 커서 응답
+     * - hasNext 와 커서는 스냅샷(sorted) 기준으로 정한다. (DB 에서 지워져 content 가 줄어도 스크롤이 끝나지 않음)
+     * - 커서 값도 스냅샷 값으로 만들어야 다음 페이지의 seek 와 어긋나지 않는다. (그 사이 재고/평점이 바뀌어도 같은 위치)
+     */
+    static CursorResponse<Book> toResponse(List<Book> content, List<IndexedBook> sorted, int from, int size,
+                                           Sort keysetSort) {
+        int to = Math.min(from + size, sorted.size());
+        boolean hasNext = to < sorted.size() && to > from;
+        String nextCursor = hasNext ? encode(sorted.get(to - 1), keysetSort) : null;
+        return new CursorResponse<>(content, size, hasNext, nextCursor);
+    }
+
+    static String encode(Book last, Sort keysetSort) {
+        return encode(keysetSort, key -> key.fromBook.apply(last));
+    }
+
+    static String encode(IndexedBook last, Sort keysetSort) {
+        return encode(keysetSort, key -> key.fromIndexed.apply(last));
+    }
+
+    private static String encode(Sort keysetSort, Function<Key, Object> value) {
+        StringBuilder token = new StringBuilder(encodePart(signature(keysetSort)));
+        for (Sort.Order order : keysetSort) {
+            Key key = Key.of(order.getProperty());
+            token.append('.').append(encodePart(String.valueOf(value.apply(key))));
+        }
+        return token.toString();
+    }
+
+    /**
+     * 커서 다음 행 조건
+     * (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ... (내림차순 키는 < 로)
+     */
+    Specification<Book> toSpecification() {
+        return (root, query, cb) -> {
+            List<Predicate> branches = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                List<Predicate> and = new ArrayList<>(i + 1);
+                for (int j = 0; j < i; j++) {
+                    and.add(cb.equal(path(root, j), values.get(j)));
+                }
+                and.add(after(cb, path(root, i), i));
+                branches.add(cb.and(and.toArray(new Predicate[0])));
+            }
+            return cb.or(branches.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * 메모리 인덱스 결과용: 커서가 book 보다 앞에 있는지 (= book 이 다음 페이지 후보인지)
+     */
+    boolean precedes(IndexedBook book) {
+        for (int i = 0; i < keys.size(); i++) {
+            int cmp = values.get(i).compareTo(keys.get(i).fromIndexed.apply(book));
+            if (cmp != 0) {
+                return (directions.get(i).isAscending()) ? cmp < 0 : cmp > 0;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * keyset 정렬로 정렬된 목록에서 커서 다음 첫 행의 위치 (이분 탐색, 없으면 sorted.size())
+     */
+    int seek(List<IndexedBook> sorted) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (precedes(sorted.get(mid))) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private Path<Comparable<Object>> path(Root<Book> root, int i) {
+        return root.get(keys.get(i).property);
+    }
+
+    private Predicate after(CriteriaBuilder cb, Path<Comparable<Object>> path, int i) {
+        return directions.get(i).isAscending()
+                ? cb.greaterThan(path, values.get(i))
+                : cb.lessThan(path, values.get(i));
+    }
+
+    private static String signature(Sort keysetSort) {
+        StringBuilder sb = new StringBuilder();
+        for (Sort.Order order : keysetSort) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(order.getProperty()).append(':').append(order.getDirection().name());
+        }
+        return sb.toString();
+    }
+
+    private static String encodePart(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodePart(String part) {
+        try {
+            return new String(DECODER.decode(part), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    private static BusinessException invalid() {
+        return new BusinessException(ErrorCode.INVALID_QUERY_PARAM, "유효하지 않은 커서(after) 입니다.");
+    }
+
+    // 커서로 쓸 수 있는 정렬 필드 (모두 NOT NULL 컬럼)
+    private enum Key {
+        ID("id", Book::getId, IndexedBook::getId, Long::valueOf),
+        TITLE("title", Book::getTitle, IndexedBook::getTitle, s -> s),
+        AUTHOR("author", Book::getAuthor, IndexedBook::getAuthor, s -> s),
+        CATEGORY_ID("categoryId", Book::getCategoryId, IndexedBook::getCategoryId, Long::valueOf),
+        PRICE("price", Book::getPrice, IndexedBook::getPrice, Integer::valueOf),
+        STOCK("stock", Book::getStock, IndexedBook::getStock, Integer::valueOf),
+        AVERAGE_RATING("averageRating", Book::getAverageRating, IndexedBook::getAverageRating, Double::valueOf),
+        REVIEW_COUNT("reviewCount", Book::getReviewCount, IndexedBook::getReviewCount, Long::valueOf),
+        CREATED_AT("createdAt", Book::getCreatedAt, IndexedBook::getCreatedAt, LocalDateTime::parse);
+
+        final String property;
+        final Function<Book, Object> fromBook;
+        final Function<IndexedBook, Object> fromIndexed;
+        final Function<String, Object> parser;
+
+        Key(String property,
+            Function<Book, Object> fromBook,
+            Function<IndexedBook, Object> fromIndexed,
+            Function<String, Object> parser) {
+            this.property = property;
+            this.fromBook = fromBook;
+            this.fromIndexed = fromIndexed;
+            this.parser = parser;
+        }
+
+        @SuppressWarnings("unchecked")
+        Comparable<Object> parse(String raw) {
+            return (Comparable<Object>) parser.apply(raw);
+        }
+
+        static Key of(String property) {
+            for (Key key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM,
+                    "커서 페이지에서 지원하지 않는 정렬 필드입니다: " + property);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.bookstore.book.service;
+
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.repository.BookRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * 전체 도서 NDJSON 내보내기 (한 줄 = 도서 하나)
+ * - 목록을 메모리에 모으지 않고 DB 스트림에서 읽는 대로 바로 쓴다.
+ * - 쓴 엔티티는 바로 detach 해서 영속성 컨텍스트가 커지지 않게 하고, flush-rows 행마다 클라이언트로 flush
+ * - 메모리 사용량은 카탈로그 크기와 무관하게 일정하다.
+ */
+@Service
+public class BookExportService {
+
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+    private final ObjectMapper objectMapper;
+    private final int flushRows;
+
+    public BookExportService(BookRepository bookRepository,
+                             EntityManager entityManager,
+                             ObjectMapper objectMapper,
+                             @Value("${bookstore.export.flush-rows:500}") int flushRows) {
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        // 행마다 flush 하지 않도록 (flush 는 flush-rows 단위로 직접)
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.flushRows = Math.max(1, flushRows);
+    }
+
+    /**
+     * 전체 도서를 id 순으로 out 에 쓴다. 쓴 행 수 반환
+     * - out 은 닫지 않는다. (서블릿 응답 스트림은 컨테이너가 닫음)
+     */
+    @Transactional(readOnly = true)
+    public long export(OutputStream out) throws IOException {
+        long rows = 0;
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        try (generator; Stream<Book> books = bookRepository.streamAllByOrderById()) {
+            for (Book book : (Iterable<Book>) books::iterator) {
+                writer.writeValue(generator, book);
+                generator.writeRaw('\n');
+                entityManager.detach(book);
+
+                if (++rows % flushRows == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        return rows;
+    }
+}
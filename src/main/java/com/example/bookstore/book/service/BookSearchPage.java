@@ -0,0 +1,30 @@
+package com.example.bookstore.book.service;
+
+import com.example.bookstore.book.entity.Book;
+import org.springframework.data.domain.Page;
+
+/**
+ * 검색 결과 페이지 + totalElements 정확도
+ * - exact = false 면 전체 개수가 SearchCountCache 에 저장된 근사값이다.
+ * - didYouMean 이 있으면 원래 검색어 결과가 없어 교정된 검색어로 검색한 결과다.
+ */
+public final class BookSearchPage {
+
+    private final Page<Book> page;
+    private final boolean exact;
+    private final String didYouMean;
+
+    public BookSearchPage(Page<Book> page, boolean exact) {
+        this(page, exact, null);
+    }
+
+    public BookSearchPage(Page<Book> page, boolean exact, String didYouMean) {
+        this.page = page;
+        this.exact = exact;
+        this.didYouMean = didYouMean;
+    }
+
+    public Page<Book> getPage() { return page; }
+    public boolean isExact() { return exact; }
+    public String getDidYouMean() { return didYouMean; }
+}
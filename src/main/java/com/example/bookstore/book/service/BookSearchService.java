@@ -0,0 +1,398 @@
+package com.example.bookstore.book.service;
+
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.repository.BookRepository;
+import com.example.bookstore.book.repository.BookSpecifications;
+import com.example.bookstore.book.search.BookFilter;
+import com.example.bookstore.book.search.BookSearchIndex;
+import com.example.bookstore.book.search.Facet;
+import com.example.bookstore.book.search.FacetCount;
+import com.example.bookstore.book.search.FacetIndex;
+import com.example.bookstore.book.search.HangulSearchIndex;
+import com.example.bookstore.book.search.IndexedBook;
+import com.example.bookstore.book.search.RankedHits;
+import com.example.bookstore.book.search.SearchMode;
+import com.example.bookstore.book.search.SpellingDictionary;
+import com.example.bookstore.common.exception.BusinessException;
+import com.example.bookstore.common.exception.ErrorCode;
+import com.example.bookstore.common.response.CursorResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 도서 키워드 검색
+ * - 키워드가 있으면 메모리 인덱스(BookSearchIndex)에서 id/정렬/페이지를 모두 결정하고,
+ *   DB 에는 해당 페이지의 id 들만 IN 조회로 가져온다. (LIKE 풀스캔 + COUNT 쿼리 제거)
+ * - 키워드가 없거나, 인덱스 준비 전이거나, 인덱스가 모르는 정렬 필드면 DB 검색 사용
+ *   (이때 전체 개수는 조건별 COUNT 캐시에서 재사용하고 근사값으로 표시)
+ * - sort=relevance 는 BM25 점수 순 (키워드가 없으면 의미가 없으므로 최신순으로 대체)
+ * - mode=CHOSUNG 이면 초성/자모 인덱스(HangulSearchIndex)에서 매칭한다.
+ *   초성 키워드는 DB LIKE 로 찾을 수 없으므로 DB 로 우회하지 않는다. (모르는 정렬 400, 인덱스 준비 전 503)
+ * - 페이지 검색 결과가 0건이면 SpellingDictionary 로 오타를 교정해 다시 검색한다. (didYouMean)
+ * - 범위 필터(BookFilter)는 메모리 경로에서는 스냅샷에 바로 적용하고, DB 경로에서는 Specification 으로 붙인다.
+ *   키워드 없는 조회는 V11 복합 인덱스로 처리 가능한 필터 + 정렬 조합만 허용한다.
+ * - facets 는 매칭 도서 id 비트맵과 FacetIndex 의 구간별 비트맵 교집합 크기로 센다.
+ * - scroll 은 OFFSET 대신 keyset 커서(after)로 다음 페이지를 조회한다. (COUNT 쿼리 없음)
+ *   메모리 경로는 정렬된 매칭 결과를 ScrollMatchCache 에 두고 커서 위치를 이분 탐색한다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BookSearchService {
+
+    /**
+     * 관련도 정렬용 가상 정렬 필드 (DB 컬럼 아님)
+     */
+    public static final String RELEVANCE = "relevance";
+
+    private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final HangulSearchIndex hangulSearchIndex;
+    private final SpellingDictionary spellingDictionary;
+    private final FacetIndex facetIndex;
+    private final SearchCountCache countCache;
+    private final ScrollMatchCache scrollCache;
+
+    public BookSearchService(BookRepository bookRepository,
+                             BookSearchIndex bookSearchIndex,
+                             HangulSearchIndex hangulSearchIndex,
+                             SpellingDictionary spellingDictionary,
+                             FacetIndex facetIndex,
+                             SearchCountCache countCache,
+                             ScrollMatchCache scrollCache) {
+        this.bookRepository = bookRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.hangulSearchIndex = hangulSearchIndex;
+        this.spellingDictionary = spellingDictionary;
+        this.facetIndex = facetIndex;
+        this.countCache = countCache;
+        this.scrollCache = scrollCache;
+    }
+
+    /**
+     * 검색 + 전체 개수
+     * - 인덱스 경로: 매칭 수가 곧 정확한 전체 개수
+     * - DB 경로: 본문은 Slice(COUNT 없음)로 조회하고, 개수는 SearchCountCache 에서 재사용
+     */
+    public BookSearchPage search(String keyword, Long categoryId, Pageable pageable) {
+        return search(keyword, categoryId, SearchMode.DEFAULT, BookFilter.NONE, pageable);
+    }
+
+    public BookSearchPage search(String keyword, Long categoryId, SearchMode mode,
+                                 BookFilter filter, Pageable pageable) {
+        checkChosung(keyword, mode, pageable.getSort());
+        checkIndexable(keyword, mode, filter, pageable);
+        BookSearchPage result = searchPage(keyword, categoryId, mode, filter, pageable);
+
+        // 결과가 없으면 오타로 보고 사전에서 교정한 검색어로 한 번 더 검색 (didYouMean 으로 알려준다)
+        if (mode == SearchMode.DEFAULT && result.getPage().getTotalElements() == 0) {
+            String corrected = spellingDictionary.correct(keyword);
+            if (corrected != null) {
+                BookSearchPage retried = searchPage(corrected, categoryId, mode, filter, pageable);
+                return new BookSearchPage(retried.getPage(), retried.isExact(), corrected);
+            }
+        }
+        return result;
+    }
+
+    private BookSearchPage searchPage(String keyword, Long categoryId, SearchMode mode,
+                                      BookFilter filter, Pageable pageable) {
+        if (mode == SearchMode.CHOSUNG) {
+            pageable = withoutRelevance(pageable); // 초성/자모 매칭에는 BM25 점수가 없다.
+        }
+        if (useIndex(keyword, mode, pageable)) {
+            return new BookSearchPage(searchIndex(keyword, categoryId, mode, filter, pageable), true);
+        }
+
+        Pageable dbPageable = withoutRelevance(pageable);
+        Slice<Book> slice = searchSliceFromDb(keyword, categoryId, filter, dbPageable);
+        long seen = dbPageable.getOffset() + slice.getNumberOfElements();
+
+        // 마지막 페이지면 지금까지 본 행 수가 곧 전체 개수
+        if (!slice.hasNext() && (slice.hasContent() || dbPageable.getOffset() == 0)) {
+            countCache.put(keyword, categoryId, filter, seen);
+            return new BookSearchPage(new PageImpl<>(slice.getContent(), dbPageable, seen), true);
+        }
+
+        Long cached = countCache.get(keyword, categoryId, filter);
+        if (cached != null) {
+            // 캐시 이후 도서가 늘었을 수 있으므로 최소한 "지금 본 행 + 다음 페이지 1건" 은 보장
+            long total = slice.hasNext() ? Math.max(cached, seen + 1) : cached;
+            return new BookSearchPage(new PageImpl<>(slice.getContent(), dbPageable, total), false);
+        }
+
+        long total = filter.isEmpty()
+                ? bookRepository.countSearchBooks(keyword, categoryId)
+                : bookRepository.count(specification(keyword, categoryId, filter));
+        countCache.put(keyword, categoryId, filter, total);
+        return new BookSearchPage(new PageImpl<>(slice.getContent(), dbPageable, total), true);
+    }
+
+    /**
+     * 검색 (withTotal=false): 전체 개수 없이 다음 페이지 존재 여부만
+     */
+    public Slice<Book> searchSlice(String keyword, Long categoryId, Pageable pageable) {
+        return searchSlice(keyword, categoryId, SearchMode.DEFAULT, BookFilter.NONE, pageable);
+    }
+
+    public Slice<Book> searchSlice(String keyword, Long categoryId, SearchMode mode,
+                                   BookFilter filter, Pageable pageable) {
+        checkChosung(keyword, mode, pageable.getSort());
+        checkIndexable(keyword, mode, filter, pageable);
+        if (mode == SearchMode.CHOSUNG) {
+            pageable = withoutRelevance(pageable);
+        }
+        if (useIndex(keyword, mode, pageable)) {
+            Page<Book> page = searchIndex(keyword, categoryId, mode, filter, pageable);
+            return new SliceImpl<>(page.getContent(), pageable, page.hasNext());
+        }
+        return searchSliceFromDb(keyword, categoryId, filter, withoutRelevance(pageable));
+    }
+
+    // 필터가 없으면 기존 JPQL, 있으면 Specification 으로 조건을 조립한다. (둘 다 size+1 개 조회)
+    private Slice<Book> searchSliceFromDb(String keyword, Long categoryId, BookFilter filter, Pageable pageable) {
+        if (filter.isEmpty()) {
+            return bookRepository.searchBooksSlice(keyword, categoryId, pageable);
+        }
+        return bookRepository.findBy(specification(keyword, categoryId, filter), q -> q.slice(pageable));
+    }
+
+    private static Specification<Book> specification(String keyword, Long categoryId, BookFilter filter) {
+        return Specification.where(BookSpecifications.keyword(keyword))
+                .and(BookSpecifications.category(categoryId))
+                .and(BookSpecifications.filter(filter));
+    }
+
+    // 페이지 번호 방식: 메모리 인덱스로 처리하지 못하고 DB 로 가는 경우만 검사 (DB 는 relevance 대신 최신순)
+    private void checkIndexable(String keyword, SearchMode mode, BookFilter filter, Pageable pageable) {
+        Pageable effective = (mode == SearchMode.CHOSUNG) ? withoutRelevance(pageable) : pageable;
+        if (!useIndex(keyword, mode, effective)) {
+            checkIndexable(filter, withoutRelevance(pageable).getSort());
+        }
+    }
+
+    /**
+     * 범위 필터 + 정렬 조합 검사 (DB 경로 = 키워드 없는 조회, 또는 인덱스 준비 전/인덱스가 모르는 정렬의 키워드 검색)
+     * - V11 인덱스는 (category_id,) price / average_rating, review_count / created_at 이다.
+     *   범위 조건 컬럼과 정렬 선두 컬럼이 같아야 인덱스 하나로 범위 + 정렬을 처리한다.
+     * - 그 외 조합은 filesort 가 되므로 400 으로 거절한다. (메모리 인덱스에서 처리하는 키워드 검색은 제한 없음)
+     */
+    private static void checkIndexable(BookFilter filter, Sort sort) {
+        Set<String> ranges = filter.rangeProperties();
+        if (ranges.isEmpty()) {
+            return;
+        }
+        String leading = sort.isSorted() ? sort.iterator().next().getProperty() : null;
+        if (!ranges.contains(leading)) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM,
+                    "키워드 없이 범위 필터를 쓰려면 필터 필드 중 하나(" + String.join(", ", ranges)
+                            + ")로 정렬해야 합니다.");
+        }
+    }
+
+    /**
+     * 초성/자모 검색 검사 (키워드가 있을 때)
+     * - "ㅈㅂ" 같은 키워드를 DB LIKE 로 보내면 조용히 0건이 되고, 그 개수가 SearchCountCache 에도 남는다.
+     *   그래서 메모리 인덱스로 처리할 수 없으면 DB 로 우회하지 않고 거절한다.
+     * - relevance 는 최신순으로 대체되므로 제외하고, 나머지 정렬 필드를 IndexedBook 이 모르면 400
+     * - HangulSearchIndex 준비 전이면 503
+     */
+    private void checkChosung(String keyword, SearchMode mode, Sort sort) {
+        if (mode != SearchMode.CHOSUNG || keyword == null || keyword.isBlank()) {
+            return;
+        }
+        Sort indexSort = Sort.by(sort.stream()
+                .filter(order -> !RELEVANCE.equals(order.getProperty()))
+                .toList());
+        if (IndexedBook.comparator(indexSort) == null) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM,
+                    "초성 검색에서 지원하지 않는 정렬 필드입니다: " + sort);
+        }
+        if (!hangulSearchIndex.isReady()) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE,
+                    "초성 검색 인덱스를 준비 중입니다. 잠시 후 다시 시도해 주세요.");
+        }
+    }
+
+    private boolean useIndex(String keyword, SearchMode mode, Pageable pageable) {
+        if (keyword == null || keyword.isBlank() || !isIndexReady(mode)) {
+            return false;
+        }
+        return isRelevance(pageable) || IndexedBook.comparator(pageable.getSort()) != null;
+    }
+
+    private boolean isIndexReady(SearchMode mode) {
+        return (mode == SearchMode.CHOSUNG) ? hangulSearchIndex.isReady() : bookSearchIndex.isReady();
+    }
+
+    // 모드에 맞는 인덱스에서 매칭된 도서 (정렬 전)
+    private List<IndexedBook> matches(String keyword, Long categoryId, SearchMode mode, BookFilter filter) {
+        List<IndexedBook> matches = (mode == SearchMode.CHOSUNG)
+                ? hangulSearchIndex.search(keyword, categoryId)
+                : bookSearchIndex.search(keyword, categoryId);
+        if (!filter.isEmpty()) {
+            matches.removeIf(book -> !filter.test(book));
+        }
+        return matches;
+    }
+
+    private Page<Book> searchIndex(String keyword, Long categoryId, SearchMode mode,
+                                   BookFilter filter, Pageable pageable) {
+        if (isRelevance(pageable)) {
+            return searchByRelevance(keyword, categoryId, filter, pageable);
+        }
+
+        List<IndexedBook> matches = matches(keyword, categoryId, mode, filter);
+        matches.sort(IndexedBook.comparator(pageable.getSort()));
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+
+        List<Long> pageIds = matches.subList(from, to).stream()
+                .map(IndexedBook::getId)
+                .toList();
+
+        return new PageImpl<>(hydrate(pageIds), pageable, matches.size());
+    }
+
+    /**
+     * 검색 조건에 맞는 도서의 패싯별 개수 (FacetIndex 비트맵 교집합)
+     * - 인덱스 준비 전이면 null (응답에서 facets 생략)
+     */
+    public Map<String, List<FacetCount>> facets(String keyword, Long categoryId, SearchMode mode,
+                                                BookFilter filter, Set<Facet> facets) {
+        if (facets.isEmpty() || !facetIndex.isReady()) {
+            return null;
+        }
+        if (keyword == null || keyword.isBlank()) {
+            return facetIndex.count(facets, null, categoryId, filter);
+        }
+        if (!isIndexReady(mode)) {
+            return null;
+        }
+        List<Long> ids = matches(keyword, null, mode, filter).stream()
+                .map(IndexedBook::getId)
+                .toList();
+        return facetIndex.count(facets, ids, categoryId, BookFilter.NONE);
+    }
+
+    /**
+     * keyset 커서 페이지 조회
+     * - after 가 비어 있으면 첫 페이지
+     * - 관련도 점수는 색인 통계에 따라 바뀌어 커서 기준이 될 수 없으므로 relevance 는 지원하지 않는다.
+     */
+    public CursorResponse<Book> scroll(String keyword, Long categoryId, Sort sort, int size, String after) {
+        return scroll(keyword, categoryId, SearchMode.DEFAULT, BookFilter.NONE, sort, size, after);
+    }
+
+    public CursorResponse<Book> scroll(String keyword, Long categoryId, SearchMode mode,
+                                       BookFilter filter, Sort sort, int size, String after) {
+        if (sort.getOrderFor(RELEVANCE) != null) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM,
+                    "relevance 정렬은 커서 페이지(after)를 지원하지 않습니다.");
+        }
+        checkChosung(keyword, mode, sort);
+        boolean fromIndex = keyword != null && !keyword.isBlank() && isIndexReady(mode);
+        if (!fromIndex) {
+            checkIndexable(filter, sort);
+        }
+
+        Sort keysetSort = BookCursor.keysetSort(sort);
+        BookCursor cursor = (after == null || after.isBlank()) ? null : BookCursor.decode(after, keysetSort);
+
+        if (fromIndex) {
+            return scrollIndex(keyword, categoryId, mode, filter, keysetSort, size, cursor);
+        }
+
+        Specification<Book> spec = specification(keyword, categoryId, filter);
+        if (cursor != null) {
+            spec = spec.and(cursor.toSpecification());
+        }
+        List<Book> rows = bookRepository.findBy(spec, q -> q.sortBy(keysetSort).limit(size + 1).all());
+        return BookCursor.toResponse(rows, size, keysetSort);
+    }
+
+    private CursorResponse<Book> scrollIndex(String keyword, Long categoryId, SearchMode mode, BookFilter filter,
+                                   Sort keysetSort, int size, BookCursor cursor) {
+        // 매칭 결과는 첫 페이지에서 한 번만 정렬하고, 다음 페이지는 커서 위치를 이분 탐색
+        List<IndexedBook> sorted = scrollCache.get(keyword, categoryId, mode, filter, keysetSort);
+        if (sorted == null) {
+            sorted = matches(keyword, categoryId, mode, filter);
+            sorted.sort(IndexedBook.comparator(keysetSort));
+            scrollCache.put(keyword, categoryId, mode, filter, keysetSort, sorted);
+        }
+
+        int from = (cursor == null) ? 0 : cursor.seek(sorted);
+        List<Long> ids = sorted.subList(from, Math.min(from + size, sorted.size())).stream()
+                .map(IndexedBook::getId)
+                .toList();
+        return BookCursor.toResponse(hydrate(ids), sorted, from, size, keysetSort);
+    }
+
+    /**
+     * 요청 페이지 끝까지(offset + size)만 상위 k 로 뽑은 뒤 해당 페이지 구간만 잘라낸다.
+     */
+    private Page<Book> searchByRelevance(String keyword, Long categoryId, BookFilter filter, Pageable pageable) {
+        int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        RankedHits ranked = bookSearchIndex.rank(keyword, categoryId, filter, limit);
+        List<IndexedBook> hits = ranked.getHits();
+
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        List<Long> pageIds = hits.subList(from, hits.size()).stream()
+                .map(IndexedBook::getId)
+                .toList();
+
+        return new PageImpl<>(hydrate(pageIds), pageable, ranked.getTotalHits());
+    }
+
+    static boolean isRelevance(Pageable pageable) {
+        return pageable.getSort().getOrderFor(RELEVANCE) != null;
+    }
+
+    /**
+     * relevance 를 DB 에서 쓸 수 있는 기본 정렬(최신순)로 바꾼 Pageable
+     */
+    static Pageable withoutRelevance(Pageable pageable) {
+        if (!isRelevance(pageable)) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
+    /**
+     * id 목록을 한 번에 조회한 뒤 요청한 순서대로 다시 정렬
+     * (인덱스 반영 직전에 삭제된 도서는 결과에서 빠진다)
+     */
+    List<Book> hydrate(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Book> byId = bookRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        List<Book> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Book book = byId.get(id);
+            if (book != null) {
+                ordered.add(book);
+            }
+        }
+        return ordered;
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.bookstore.book.service;
 
+import com.example.bookstore.book.cache.BookCache;
 import com.example.bookstore.book.dto.BookResponseDto;
 import com.example.bookstore.book.entity.Book;
 import com.example.bookstore.book.repository.BookRepository;
+import com.example.bookstore.book.search.TopRatedLeaderboard;
 import com.example.bookstore.common.exception.BusinessException;
 import com.example.bookstore.common.exception.ErrorCode;
 import com.example.bookstore.common.response.PageResponse;
@@ -20,9 +22,18 @@ import java.util.List;
 public class BookService {
 
     private final BookRepository bookRepository;
-
-    public BookService(BookRepository bookRepository) {
+    private final BookSearchService bookSearchService;
+    private final BookCache bookCache;
+    private final TopRatedLeaderboard topRatedLeaderboard;
+
+    public BookService(BookRepository bookRepository,
+                       BookSearchService bookSearchService,
+                       BookCache bookCache,
+                       TopRatedLeaderboard topRatedLeaderboard) {
         this.bookRepository = bookRepository;
+        this.bookSearchService = bookSearchService;
+        this.bookCache = bookCache;
+        this.topRatedLeaderboard = topRatedLeaderboard;
     }
 
     // 🔹 A. 전체 목록 조회
@@ -48,14 +59,14 @@ public class BookService {
 
     // 🔹 B-2. 단건 상세 조회
     public BookResponseDto.BookDetailResponse getBookDetail(Long id) {
-        Book book = bookRepository.findById(id)
+        Book book = bookCache.find(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.BOOK_NOT_FOUND));
         return BookResponseDto.BookDetailResponse.from(book);
     }
 
     // 🔹 C. TOP 10 도서 조회 (평점/리뷰 기준)
     public List<BookResponseDto.BookSummaryResponse> getTopBooks() {
-        List<Book> books = bookRepository.findTop10ByOrderByAverageRatingDescReviewCountDesc();
+        List<Book> books = topRatedLeaderboard.top(10);
         return books.stream()
                 .map(BookResponseDto.BookSummaryResponse::from)
                 .toList();
@@ -77,49 +88,45 @@ public class BookService {
         }
 
         // 2) 정렬 기준 설정
-        Sort sortSpec;
-        if (sort == null || sort.isBlank()) {
-            sort = "LATEST";
-        }
-
-        switch (sort.toUpperCase()) {
-            case "PRICE_ASC" -> sortSpec = Sort.by(Sort.Direction.ASC, "price");
-            case "PRICE_DESC" -> sortSpec = Sort.by(Sort.Direction.DESC, "price");
-            case "RATING_DESC" ->
-                    sortSpec = Sort.by(Sort.Direction.DESC, "averageRating")
-                                   .and(Sort.by(Sort.Direction.DESC, "reviewCount"));
-            default -> sortSpec = Sort.by(Sort.Direction.DESC, "createdAt"); // LATEST
-        }
+        Sort sortSpec = resolveSort(sort);
 
         Pageable pageable = PageRequest.of(page, size, sortSpec);
 
-        // 3) keyword 유무에 따른 분기
-        Page<Book> result;
-        if (keyword == null || keyword.isBlank()) {
-            // 키워드 없으면 전체 조회 + 페이징
-            result = bookRepository.findAll(pageable);
-        } else {
-            // 키워드 있으면 제목/저자 검색
-            result = bookRepository
-                    .findByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCase(
-                            keyword, keyword, pageable
-                    );
-        }
+        // 3) 검색 (키워드가 있으면 메모리 인덱스 -> 한 페이지만 DB 조회, 없으면 전체 조회 + 페이징)
+        BookSearchPage result = bookSearchService.search(keyword, null, pageable);
+        Page<Book> resultPage = result.getPage();
 
         // 4) 엔티티 -> DTO 변환
-        List<BookResponseDto.BookSummaryResponse> content = result.getContent().stream()
+        List<BookResponseDto.BookSummaryResponse> content = resultPage.getContent().stream()
                 .map(BookResponseDto.BookSummaryResponse::from)
                 .toList();
 
-        // 5) PageResponse 로 감싸서 반환
+        // 5) PageResponse 로 감싸서 반환 (전체 개수가 캐시된 근사값이면 exact = false)
         return new PageResponse<>(
                 content,
-                result.getNumber(),
-                result.getSize(),
-                result.getTotalElements(),
-                result.getTotalPages(),
-                result.isFirst(),
-                result.isLast()
+                resultPage.getNumber(),
+                resultPage.getSize(),
+                resultPage.getTotalElements(),
+                resultPage.getTotalPages(),
+                resultPage.isFirst(),
+                resultPage.isLast(),
+                result.isExact()
         );
     }
+
+    private Sort resolveSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            sort = "LATEST";
+        }
+
+        return switch (sort.toUpperCase()) {
+            case "PRICE_ASC" -> Sort.by(Sort.Direction.ASC, "price");
+            case "PRICE_DESC" -> Sort.by(Sort.Direction.DESC, "price");
+            case "RATING_DESC" ->
+                    Sort.by(Sort.Direction.DESC, "averageRating")
+                            .and(Sort.by(Sort.Direction.DESC, "reviewCount"));
+            case "RELEVANCE" -> Sort.by(Sort.Direction.DESC, BookSearchService.RELEVANCE);
+            default -> Sort.by(Sort.Direction.DESC, "createdAt"); // LATEST
+        };
+    }
 }
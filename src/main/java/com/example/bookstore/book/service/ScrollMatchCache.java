@@ -0,0 +1,104 @@
+package com.example.bookstore.book.service;
+
+import com.example.bookstore.book.search.BookFilter;
+import com.example.bookstore.book.search.IndexedBook;
+import com.example.bookstore.book.search.SearchMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 커서 페이지(scroll)용 정렬된 매칭 결과 캐시
+ * - 키워드 검색의 매칭 도서를 keyset 정렬로 한 번만 정렬해 두고, 다음 페이지는 커서 위치를 이분 탐색해서 잘라 준다.
+ *   (페이지마다 매칭 전체를 다시 거르고 정렬하지 않음)
+ * - TTL 동안은 처음 정렬한 스냅샷 기준이라 그 사이 바뀐 정렬 키/추가된 도서는 반영되지 않는다.
+ *   (본문은 hydrate 로 DB 에서 새로 읽으므로 내용은 최신, 커서와 hasNext 는 스냅샷 값으로 만들어 페이지가 어긋나지 않음)
+ */
+@Component
+public class ScrollMatchCache {
+
+    private static final int MAX_ENTRIES = 1_000;
+
+    private static class Entry {
+        final List<IndexedBook> sorted;
+        final long expiresAtMillis;
+
+        Entry(List<IndexedBook> sorted, long expiresAtMillis) {
+            this.sorted = sorted;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public ScrollMatchCache(@Value("${bookstore.search.scroll-cache-ttl-ms:30000}") long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 만료되지 않은 정렬 결과, 없으면 null
+     */
+    public List<IndexedBook> get(String keyword, Long categoryId, SearchMode mode, BookFilter filter, Sort keysetSort) {
+        Key key = new Key(keyword, categoryId, mode, filter, keysetSort);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.sorted;
+    }
+
+    public void put(String keyword, Long categoryId, SearchMode mode, BookFilter filter, Sort keysetSort,
+                    List<IndexedBook> sorted) {
+        long now = System.currentTimeMillis();
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.values().removeIf(e -> e.expiresAtMillis <= now);
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+        }
+        entries.put(new Key(keyword, categoryId, mode, filter, keysetSort),
+                new Entry(List.copyOf(sorted), now + ttlMillis));
+    }
+
+    private static final class Key {
+        final String keyword;
+        final Long categoryId;
+        final SearchMode mode;
+        final BookFilter filter;
+        final Sort keysetSort;
+
+        Key(String keyword, Long categoryId, SearchMode mode, BookFilter filter, Sort keysetSort) {
+            this.keyword = keyword;
+            this.categoryId = categoryId;
+            this.mode = mode;
+            this.filter = filter;
+            this.keysetSort = keysetSort;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(keyword, other.keyword)
+                    && Objects.equals(categoryId, other.categoryId)
+                    && mode == other.mode
+                    && Objects.equals(filter, other.filter)
+                    && Objects.equals(keysetSort, other.keysetSort);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyword, categoryId, mode, filter, keysetSort);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.bookstore.book.service;
+
+import com.example.bookstore.book.search.BookFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 검색 조건(키워드 + 카테고리 + 범위 필터)별 전체 개수 캐시
+ * - 페이지마다 같은 LIKE 조건으로 COUNT(*) 를 다시 돌리지 않도록 TTL 동안 재사용한다.
+ * - 캐시에서 꺼낸 값은 그 사이 추가/삭제된 도서를 반영하지 못하므로 "근사값" 으로 취급한다.
+ */
+@Component
+public class SearchCountCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private static class Entry {
+        final long count;
+        final long expiresAtMillis;
+
+        Entry(long count, long expiresAtMillis) {
+            this.count = count;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public SearchCountCache(@Value("${bookstore.search.count-cache-ttl-ms:60000}") long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 만료되지 않은 개수, 없으면 null
+     */
+    public Long get(String keyword, Long categoryId) {
+        return get(keyword, categoryId, BookFilter.NONE);
+    }
+
+    public Long get(String keyword, Long categoryId, BookFilter filter) {
+        Key key = new Key(keyword, categoryId, filter);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.count;
+    }
+
+    public void put(String keyword, Long categoryId, long count) {
+        put(keyword, categoryId, BookFilter.NONE, count);
+    }
+
+    public void put(String keyword, Long categoryId, BookFilter filter, long count) {
+        long now = System.currentTimeMillis();
+        if (entries.size() >= MAX_ENTRIES) {
+            // 키워드 조합이 무한히 늘어나지 않도록 만료분 정리 후에도 가득 차면 비운다.
+            entries.values().removeIf(e -> e.expiresAtMillis <= now);
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+        }
+        entries.put(new Key(keyword, categoryId, filter), new Entry(count, now + ttlMillis));
+    }
+
+    // 대소문자만 다른 키워드는 같은 조건 (LIKE 가 대소문자를 무시하므로)
+    private static final class Key {
+        final String keyword;
+        final Long categoryId;
+        final BookFilter filter;
+
+        Key(String keyword, Long categoryId, BookFilter filter) {
+            this.keyword = (keyword == null || keyword.isBlank())
+                    ? null
+                    : keyword.toLowerCase(Locale.ROOT);
+            this.categoryId = categoryId;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(keyword, other.keyword)
+                    && Objects.equals(categoryId, other.categoryId)
+                    && Objects.equals(filter, other.filter);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyword, categoryId, filter);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.bookstore.book.trending;
+
+/**
+ * 도서에 대한 사용자 활동(주문/리뷰) 이벤트
+ * - 커밋 후 TrendingBooks 가 받아서 트렌드 점수에 더한다.
+ */
+public class BookActivityEvent {
+
+    public enum Type { ORDER, REVIEW }
+
+    private final Long bookId;
+    private final Type type;
+    private final long amount;
+
+    private BookActivityEvent(Long bookId, Type type, long amount) {
+        this.bookId = bookId;
+        this.type = type;
+        this.amount = amount;
+    }
+
+    public static BookActivityEvent ordered(Long bookId, long quantity) {
+        return new BookActivityEvent(bookId, Type.ORDER, quantity);
+    }
+
+    public static BookActivityEvent reviewed(Long bookId) {
+        return new BookActivityEvent(bookId, Type.REVIEW, 1);
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.bookstore.book.trending;
+
+/**
+ * 도서별 트렌드 점수 (불변, 조회 시점 기준으로 감쇠된 값)
+ */
+public final class TrendScore {
+
+    private final Long bookId;
+    private final double score;
+
+    public TrendScore(Long bookId, double score) {
+        this.bookId = bookId;
+        this.score = score;
+    }
+
+    public Long getBookId() { return bookId; }
+    public double getScore() { return score; }
+}
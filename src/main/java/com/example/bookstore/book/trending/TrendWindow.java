@@ -0,0 +1,46 @@
+package com.example.bookstore.book.trending;
+
+import com.example.bookstore.common.exception.BusinessException;
+import com.example.bookstore.common.exception.ErrorCode;
+
+import java.time.Duration;
+
+/**
+ * 트렌드 점수 감쇠 시간 (window)
+ * - 활동 하나의 점수는 window 만큼 지나면 1/e 로 줄어든다. (지수 감쇠, 시간 상수 = window)
+ */
+public enum TrendWindow {
+    HOUR("1h", Duration.ofHours(1)),
+    DAY("24h", Duration.ofHours(24)),
+    WEEK("7d", Duration.ofDays(7));
+
+    private final String label;
+    private final double tauMillis;
+
+    TrendWindow(String label, Duration duration) {
+        this.label = label;
+        this.tauMillis = duration.toMillis();
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // elapsedMillis 동안의 감쇠 배율
+    double decay(long elapsedMillis) {
+        return Math.exp(-elapsedMillis / tauMillis);
+    }
+
+    public static TrendWindow from(String value) {
+        if (value == null || value.isBlank()) {
+            return DAY;
+        }
+        for (TrendWindow window : values()) {
+            if (window.label.equalsIgnoreCase(value)) {
+                return window;
+            }
+        }
+        throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM,
+                "지원하지 않는 window 입니다. (1h, 24h, 7d): " + value);
+    }
+}
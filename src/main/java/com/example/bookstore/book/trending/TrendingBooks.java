@@ -0,0 +1,244 @@
+package com.example.bookstore.book.trending;
+
+import com.example.bookstore.book.entity.BookTrend;
+import com.example.bookstore.book.repository.BookTrendRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 시간 감쇠 트렌드 점수 엔진
+ * - 도서마다 TrendWindow 별 점수를 (점수, 기준 시각) 한 쌍으로 들고, 활동이 올 때마다
+ *   "기준 시각부터 지금까지 감쇠 + 가중치" 를 CAS 로 갱신한다. (도서 단위 원자적 누적, 락 없음)
+ * - 가중치: 주문 수량 1개 = 1, 리뷰 1건 = review-weight
+ * - 조회는 메모리 값만 지금 시각으로 감쇠시켜 상위 N 을 고른다. (order_items 를 읽지 않음)
+ * - snapshot-interval-ms 마다 바뀐 도서만 book_trends 에 저장하고, 모든 window 에서
+ *   무시할 만큼 작아진 도서는 메모리/테이블에서 지운다. 재시작 시 스냅샷에서 이어서 감쇠한다.
+ *   (마지막 스냅샷 이후 활동은 재시작 시 유실될 수 있음)
+ */
+@Component
+public class TrendingBooks {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingBooks.class);
+
+    public static final int MAX_SIZE = 100;
+
+    // 이보다 작으면 정리 대상 (7d 점수 기준, 주문 1권이 약 4.6주 지난 값)
+    private static final double PRUNE_THRESHOLD = 0.01;
+
+    private final BookTrendRepository bookTrendRepository;
+    private final double reviewWeight;
+
+    private final Map<Long, TrendCounter> counters = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    public TrendingBooks(BookTrendRepository bookTrendRepository,
+                         @Value("${bookstore.trending.review-weight:3.0}") double reviewWeight) {
+        this.bookTrendRepository = bookTrendRepository;
+        this.reviewWeight = reviewWeight;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long now = System.currentTimeMillis();
+        List<BookTrend> snapshots = bookTrendRepository.findAll();
+        for (BookTrend snapshot : snapshots) {
+            double[] scores = new double[TrendWindow.values().length];
+            scores[TrendWindow.HOUR.ordinal()] = snapshot.getScore1h();
+            scores[TrendWindow.DAY.ordinal()] = snapshot.getScore24h();
+            scores[TrendWindow.WEEK.ordinal()] = snapshot.getScore7d();
+            counters.put(snapshot.getBookId(), new TrendCounter(new Sample(scores, snapshot.getScoredAt(), false)));
+        }
+        log.info("[TRENDING] {} book trend snapshots restored ({} ms)",
+                snapshots.size(), System.currentTimeMillis() - now);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onActivity(BookActivityEvent event) {
+        double weight = switch (event.getType()) {
+            case ORDER -> event.getAmount();
+            case REVIEW -> reviewWeight * event.getAmount();
+        };
+        record(event.getBookId(), weight, System.currentTimeMillis());
+    }
+
+    void record(Long bookId, double weight, long now) {
+        // 정리(compact)와 겹쳐서 이미 빠진 카운터를 잡았다면 새 카운터로 다시 시도
+        while (!counters.computeIfAbsent(bookId, id -> new TrendCounter(Sample.empty(now))).add(weight, now)) {
+            // retry
+        }
+        dirty.add(bookId);
+    }
+
+    /**
+     * window 기준 점수 상위 size 개 (최대 MAX_SIZE, 점수 내림차순)
+     */
+    public List<TrendScore> top(TrendWindow window, int size) {
+        int limit = Math.min(size, MAX_SIZE);
+        long now = System.currentTimeMillis();
+
+        // 크기 limit 의 최소 힙으로 상위 N 만 유지
+        PriorityQueue<TrendScore> heap = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(TrendScore::getScore)
+                        .thenComparing(TrendScore::getBookId, Comparator.reverseOrder()));
+        for (Map.Entry<Long, TrendCounter> entry : counters.entrySet()) {
+            double score = entry.getValue().read(now).score(window);
+            if (score < PRUNE_THRESHOLD) {
+                continue;
+            }
+            heap.offer(new TrendScore(entry.getKey(), score));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<TrendScore> result = new ArrayList<>(heap);
+        result.sort(heap.comparator().reversed());
+        return result;
+    }
+
+    /**
+     * 스냅샷 저장 + 정리
+     */
+    @Scheduled(fixedDelayString = "${bookstore.trending.snapshot-interval-ms:60000}",
+            initialDelayString = "${bookstore.trending.snapshot-interval-ms:60000}")
+    @Transactional
+    public void compact() {
+        long now = System.currentTimeMillis();
+
+        // 정리 대상만 모은다. dirty 는 여기서 지우지 않는다.
+        // (정리 직후 같은 도서에 새 활동이 오면 새 카운터 + dirty 가 생기는데, 그 표시를 지우면 스냅샷이 빠진다)
+        List<Long> pruned = new ArrayList<>();
+        for (Long bookId : counters.keySet()) {
+            if (counters.computeIfPresent(bookId, (id, counter) -> counter.retireIfNegligible(now) ? null : counter) == null) {
+                pruned.add(bookId);
+            }
+        }
+
+        // 삭제를 저장보다 먼저 한다. 그 사이 다시 생긴 도서는 dirty 로 남아 있어 아래에서 다시 저장된다.
+        if (!pruned.isEmpty()) {
+            bookTrendRepository.deleteAllByIdInBatch(pruned);
+        }
+
+        int saved = 0;
+        for (Long bookId : dirty) {
+            // 먼저 지워야 읽은 뒤에 들어온 활동이 다음 스냅샷에 다시 잡힌다.
+            dirty.remove(bookId);
+            TrendCounter counter = counters.get(bookId);
+            if (counter == null) {
+                continue; // 정리된 도서
+            }
+            Sample sample = counter.read(now);
+            bookTrendRepository.saveSnapshot(bookId,
+                    sample.scores[TrendWindow.HOUR.ordinal()],
+                    sample.scores[TrendWindow.DAY.ordinal()],
+                    sample.scores[TrendWindow.WEEK.ordinal()],
+                    sample.at);
+            saved++;
+        }
+
+        if (saved > 0 || !pruned.isEmpty()) {
+            log.debug("[TRENDING] snapshot saved={} pruned={}", saved, pruned.size());
+        }
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    private static final class TrendCounter {
+        private final AtomicReference<Sample> sample;
+
+        TrendCounter(Sample initial) {
+            this.sample = new AtomicReference<>(initial);
+        }
+
+        // 이미 정리된 카운터면 false
+        boolean add(double weight, long now) {
+            while (true) {
+                Sample current = sample.get();
+                if (current.retired) {
+                    return false;
+                }
+                if (sample.compareAndSet(current, current.decayTo(now).plus(weight))) {
+                    return true;
+                }
+            }
+        }
+
+        Sample read(long now) {
+            return sample.get().decayTo(now);
+        }
+
+        boolean retireIfNegligible(long now) {
+            while (true) {
+                Sample current = sample.get();
+                if (current.retired) {
+                    return true;
+                }
+                if (current.decayTo(now).score(TrendWindow.WEEK) >= PRUNE_THRESHOLD) {
+                    return false;
+                }
+                if (sample.compareAndSet(current, new Sample(current.scores, current.at, true))) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    // window 별 점수 (at 시점 기준, 불변)
+    private static final class Sample {
+        final double[] scores;
+        final long at;
+        final boolean retired;
+
+        Sample(double[] scores, long at, boolean retired) {
+            this.scores = scores;
+            this.at = at;
+            this.retired = retired;
+        }
+
+        static Sample empty(long now) {
+            return new Sample(new double[TrendWindow.values().length], now, false);
+        }
+
+        Sample decayTo(long now) {
+            if (now <= at) {
+                return this;
+            }
+            double[] decayed = new double[scores.length];
+            for (TrendWindow window : TrendWindow.values()) {
+                decayed[window.ordinal()] = scores[window.ordinal()] * window.decay(now - at);
+            }
+            return new Sample(decayed, now, retired);
+        }
+
+        Sample plus(double weight) {
+            double[] added = scores.clone();
+            for (int i = 0; i < added.length; i++) {
+                added[i] += weight;
+            }
+            return new Sample(added, at, retired);
+        }
+
+        double score(TrendWindow window) {
+            return scores[window.ordinal()];
+        }
+    }
+}
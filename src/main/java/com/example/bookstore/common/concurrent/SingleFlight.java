@@ -0,0 +1,80 @@
+package com.example.bookstore.common.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 동시 호출을 하나로 합치는 single-flight
+ * - 먼저 들어온 호출(leader)만 loader 를 실행하고, 그동안 들어온 같은 키 호출은
+ *   leader 의 CompletableFuture 결과(또는 예외)를 그대로 받는다.
+ * - 완료되면 바로 지우므로 결과를 캐시하지 않는다. (캐시는 BookCache 등 별도 계층)
+ * - 결과 객체를 여러 요청이 공유하므로 읽기 전용 값에만 쓴다.
+ */
+public class SingleFlight<K> {
+
+    private final String name;
+    private final Map<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T run(K key, Supplier<T> loader) {
+        calls.increment();
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(existing);
+        }
+
+        try {
+            T value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // leader 가 던진 예외를 그대로 다시 던진다. (BusinessException 등 응답 매핑 유지)
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // 전체 호출 수
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    // 다른 호출에 합쳐져서 loader(DB 조회)를 실행하지 않은 호출 수
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+}
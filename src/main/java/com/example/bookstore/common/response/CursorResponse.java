@@ -0,0 +1,29 @@
+package com.example.bookstore.common.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서(keyset) 페이지 응답
+ * - OFFSET/COUNT 없이 "마지막으로 본 행 다음" 부터 조회한다.
+ * - 다음 페이지는 nextCursor 를 after 파라미터로 그대로 넘기면 된다. (마지막 페이지면 null)
+ */
+@Getter
+@AllArgsConstructor
+public class CursorResponse<T> {
+
+    private List<T> content;     // 현재 페이지 데이터
+    private int size;            // 요청한 페이지 크기
+    private boolean hasNext;     // 다음 페이지 존재 여부
+    private String nextCursor;   // 다음 페이지 커서 (불투명 토큰)
+
+    public <R> CursorResponse<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream()
+                .<R>map(mapper)
+                .toList();
+        return new CursorResponse<>(mapped, size, hasNext, nextCursor);
+    }
+}
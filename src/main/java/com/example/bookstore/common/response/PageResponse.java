@@ -16,4 +16,5 @@ public class PageResponse<T> {
     private int totalPages;      // 전체 페이지 수
     private boolean first;       // 첫 페이지 여부
     private boolean last;        // 마지막 페이지 여부
+    private boolean exact;       // totalElements 가 정확한 값인지 (false 면 캐시된 근사값)
 }
@@ -0,0 +1,32 @@
+package com.example.bookstore.common.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * 전체 개수 없이 다음 페이지 존재 여부만 담는 페이지 응답 (withTotal=false)
+ * - COUNT(*) 쿼리를 생략하므로 totalElements / totalPages 가 없다.
+ */
+@Getter
+@AllArgsConstructor
+public class SliceResponse<T> {
+
+    private List<T> content;     // 현재 페이지 데이터
+    private int page;            // 현재 페이지 번호 (0부터 시작)
+    private int size;            // 페이지 크기
+    private boolean first;       // 첫 페이지 여부
+    private boolean hasNext;     // 다음 페이지 존재 여부
+
+    public static <T> SliceResponse<T> from(Slice<T> slice) {
+        return new SliceResponse<>(
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.isFirst(),
+                slice.hasNext()
+        );
+    }
+}
@@ -2,6 +2,7 @@ package com.example.bookstore.order.controller;
 
 import com.example.bookstore.common.response.ApiResponse;
 import com.example.bookstore.order.dto.OrderRequestDto;
+import com.example.bookstore.order.idempotency.IdempotencyStore;
 import com.example.bookstore.order.service.OrderService;
 import com.example.bookstore.order.service.OrderService.OrderResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +12,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,20 +24,31 @@ import java.util.List;
 @Tag(name = "Order API", description = "사용자의 주문 생성 및 조회 API")
 public class OrderController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final IdempotencyStore idempotencyStore;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService,
+                           IdempotencyStore idempotencyStore) {
         this.orderService = orderService;
+        this.idempotencyStore = idempotencyStore;
     }
 
     /**
      * 1) 주문 생성
      * POST /api/orders
+     * - Idempotency-Key 헤더가 있으면 같은 키의 재시도에 첫 응답을 그대로 돌려준다. (주문을 다시 만들지 않음)
      */
     @PostMapping
     @Operation(
             summary = "주문 생성",
-            description = "현재 로그인한 사용자의 요청 정보를 바탕으로 주문을 생성합니다."
+            description = """
+                    현재 로그인한 사용자의 요청 정보를 바탕으로 주문을 생성합니다.
+                    Idempotency-Key 헤더를 주면 같은 키로 다시 보낸 요청은 주문을 만들지 않고 첫 응답을 그대로 반환합니다.
+                    (재전송 응답에는 Idempotent-Replayed: true 헤더)
+                    """
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -52,9 +66,17 @@ public class OrderController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "401",
                     description = "인증되지 않은 사용자"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "재고 부족, 또는 같은 Idempotency-Key 요청이 아직 처리 중"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "422",
+                    description = "같은 Idempotency-Key 로 다른 요청 본문을 보낸 경우"
             )
     })
-    public ApiResponse<OrderResponse> createOrder(
+    public ResponseEntity<?> createOrder(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "주문 생성 요청 정보",
                     required = true,
@@ -63,11 +85,25 @@ public class OrderController {
                     )
             )
             @Valid @RequestBody OrderRequestDto.CreateOrderRequest request,
+
+            @Parameter(description = "재시도 시 중복 주문을 막기 위한 클라이언트 생성 키 (예: UUID, 최대 100자)")
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+
             @Parameter(hidden = true) Authentication authentication
     ) {
         Long userId = Long.valueOf(authentication.getName());
-        OrderResponse response = orderService.createOrder(userId, request);
-        return ApiResponse.success(response);
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(ApiResponse.success(orderService.createOrder(userId, request)));
+        }
+
+        // 응답 행은 주문과 같은 트랜잭션에서 저장 (주문만 커밋되고 키가 비는 경우 없음)
+        IdempotencyStore.Result result = idempotencyStore.execute(userId, idempotencyKey, request,
+                recorder -> orderService.createOrder(userId, request,
+                        response -> recorder.record(ApiResponse.success(response))));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.isReplayed()))
+                .body(result.getBody());
     }
 
     /**
@@ -0,0 +1,61 @@
+package com.example.bookstore.order.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 생성 Idempotency-Key 저장 행 (idempotency_keys)
+ * - IdempotencyStore 의 ResponseRecorder 가 주문 트랜잭션 안에서 응답 JSON 과 함께 INSERT 한다.
+ *   (주문과 같이 커밋되므로 커밋된 행은 항상 응답이 채워져 있다)
+ */
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "record_key", length = 150)
+    private String recordKey;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Lob
+    @Column(name = "response_body", nullable = false)
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    protected IdempotencyRecord() {}
+
+    public String getRecordKey() {
+        return recordKey;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public byte[] getResponseBody() {
+        return responseBody;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -12,7 +12,16 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 테이블 기반 pooled 생성기 (50개 블록 단위로 임대): INSERT 전에 id 를 알 수 있어 JDBC 배치 INSERT 가능
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id_generator")
+    @TableGenerator(
+            name = "order_id_generator",
+            table = "id_generators",
+            pkColumnName = "gen_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "orders",
+            allocationSize = 50
+    )
     private Long id;
 
     // 어떤 유저의 주문인가
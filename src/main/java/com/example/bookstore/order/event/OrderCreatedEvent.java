@@ -0,0 +1,33 @@
+package com.example.bookstore.order.event;
+
+import java.util.List;
+
+/**
+ * 주문 생성 이벤트
+ * - 주문에 담긴 도서 id (중복 제거, 오름차순)를 함께 넘긴다.
+ * - 리스너는 커밋 후(AFTER_COMMIT) 받아서 같이 산 도서 인덱스 등을 갱신한다.
+ */
+public class OrderCreatedEvent {
+
+    private final Long orderId;
+    private final Long userId;
+    private final List<Long> bookIds;
+
+    public OrderCreatedEvent(Long orderId, Long userId, List<Long> bookIds) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.bookIds = List.copyOf(bookIds);
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public List<Long> getBookIds() {
+        return bookIds;
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.bookstore.order.idempotency;
+
+import com.example.bookstore.common.exception.BusinessException;
+import com.example.bookstore.common.exception.ErrorCode;
+import com.example.bookstore.order.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Idempotency-Key 응답 저장소 (메모리 캐시 + idempotency_keys 테이블)
+ * - (userId, key) 별 첫 성공 응답의 JSON 바이트를 ttl-ms 동안 보관하고, 같은 키의 재시도에는 action 을 다시 실행하지 않고 그대로 돌려준다.
+ * - 응답 행은 action 의 업무 트랜잭션 안에서(커밋 직전) ResponseRecorder 로 INSERT 한다.
+ *   주문과 응답 행이 같이 커밋되거나 같이 롤백되므로, "주문은 생겼는데 키는 비어 있는" 상태가 없다. (선점 행/만료 시간 없음)
+ * - 같은 인스턴스의 동시 중복 요청은 진행 중인 요청의 CompletableFuture 를 기다린다. (SingleFlight 와 같은 방식)
+ * - 다른 인스턴스의 동시 중복 요청은 같은 키 INSERT 가 먼저 온 트랜잭션의 커밋을 기다렸다가 중복 키로 실패하고,
+ *   자기 트랜잭션 전체(주문 포함)를 롤백한 뒤 먼저 커밋된 응답을 돌려준다.
+ * - 실패한 요청은 저장하지 않는다. (재시도가 다시 실행됨)
+ * - 같은 키로 다른 요청 본문을 보내면 422.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    // 만료 행 정리 시 한 번에 지울 행 수
+    private static final int CLEANUP_BATCH = 1000;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final long waitTimeoutMillis;
+
+    private final Cache<String, StoredResponse> cache;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(IdempotencyRecordRepository recordRepository,
+                            TransactionTemplate transactionTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${bookstore.idempotency.ttl-ms:86400000}") long ttlMillis,
+                            @Value("${bookstore.idempotency.cache-size:10000}") long cacheSize,
+                            @Value("${bookstore.idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis) {
+        this.recordRepository = recordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * 같은 (userId, key) 로 처음 온 요청만 action 을 실행하고, 이후 요청은 저장된 응답을 돌려준다.
+     * - action 은 업무 트랜잭션 안에서 ResponseRecorder.record 로 응답을 저장해야 한다.
+     */
+    public Result execute(Long userId, String key, Object request, Consumer<ResponseRecorder> action) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, Map.of(
+                    "Idempotency-Key", "1~" + MAX_KEY_LENGTH + "자여야 합니다."
+            ));
+        }
+        String recordKey = userId + ":" + key;
+        String requestHash = hash(request);
+
+        StoredResponse cached = cache.getIfPresent(recordKey);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> existing = inFlight.putIfAbsent(recordKey, mine);
+        if (existing != null) {
+            return replay(await(existing), requestHash);
+        }
+
+        try {
+            Result result = loadOrRun(recordKey, userId, requestHash, action);
+            mine.complete(result.stored);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(recordKey, mine);
+        }
+    }
+
+    private Result loadOrRun(String recordKey, Long userId, String requestHash, Consumer<ResponseRecorder> action) {
+        Optional<StoredResponse> committed = findCommitted(recordKey);
+        if (committed.isPresent()) {
+            return replay(committed.get(), requestHash);
+        }
+
+        // 보관 기간이 지난 행은 지워야 같은 키로 다시 INSERT 할 수 있다.
+        transactionTemplate.executeWithoutResult(status -> recordRepository.deleteExpired(recordKey, LocalDateTime.now()));
+
+        Recorder recorder = new Recorder(recordKey, userId, requestHash);
+        try {
+            action.accept(recorder);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 인스턴스가 같은 키로 먼저 커밋함 -> 이쪽 트랜잭션은 롤백됐으므로 먼저 커밋된 응답을 돌려준다.
+            Optional<StoredResponse> winner = findCommitted(recordKey);
+            if (winner.isEmpty()) {
+                throw e;
+            }
+            return replay(winner.get(), requestHash);
+        }
+        if (recorder.stored == null) {
+            throw new IllegalStateException("ResponseRecorder.record 가 호출되지 않았습니다: " + recordKey);
+        }
+
+        cache.put(recordKey, recorder.stored);
+        return new Result(recorder.stored, false);
+    }
+
+    private Optional<StoredResponse> findCommitted(String recordKey) {
+        Optional<StoredResponse> stored = recordRepository.findById(recordKey)
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()))
+                .map(record -> new StoredResponse(record.getRequestHash(), record.getResponseBody()));
+        stored.ifPresent(response -> cache.put(recordKey, response));
+        return stored;
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> future) {
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // 먼저 온 요청이 던진 예외를 그대로 다시 던진다. (BusinessException 등 응답 매핑 유지)
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+    }
+
+    private static Result replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash.equals(requestHash)) {
+            throw new BusinessException(ErrorCode.UNPROCESSABLE_ENTITY, Map.of(
+                    "Idempotency-Key", "같은 키로 다른 요청 본문이 전송되었습니다."
+            ));
+        }
+        return new Result(stored, true);
+    }
+
+    private static BusinessException inProgress() {
+        return new BusinessException(ErrorCode.STATE_CONFLICT, Map.of(
+                "Idempotency-Key", "같은 키의 요청이 아직 처리 중입니다."
+        ));
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("요청 해시 계산 실패", e);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 행 정리
+     */
+    @Scheduled(fixedDelayString = "${bookstore.idempotency.cleanup-interval-ms:600000}",
+            initialDelayString = "${bookstore.idempotency.cleanup-interval-ms:600000}")
+    public void cleanup() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> recordRepository.deleteAllExpired(now, CLEANUP_BATCH));
+            total += deleted;
+        } while (deleted == CLEANUP_BATCH);
+
+        if (total > 0) {
+            log.debug("[IDEMPOTENCY] {} expired keys deleted", total);
+        }
+    }
+
+    /**
+     * 업무 트랜잭션 안에서 응답을 저장하는 콜백 (execute 의 action 에 전달)
+     */
+    public interface ResponseRecorder {
+
+        /**
+         * 응답을 JSON 으로 직렬화해서 idempotency_keys 에 INSERT 한다. 호출한 트랜잭션과 함께 커밋/롤백된다.
+         * - 같은 키가 이미 커밋돼 있거나 다른 트랜잭션이 INSERT 중이면 (그 트랜잭션이 끝난 뒤) DataIntegrityViolationException
+         */
+        void record(Object response);
+    }
+
+    private final class Recorder implements ResponseRecorder {
+        private final String recordKey;
+        private final Long userId;
+        private final String requestHash;
+        private StoredResponse stored;
+
+        private Recorder(String recordKey, Long userId, String requestHash) {
+            this.recordKey = recordKey;
+            this.userId = userId;
+            this.requestHash = requestHash;
+        }
+
+        @Override
+        public void record(Object response) {
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw new IllegalStateException("응답은 업무 트랜잭션 안에서 저장해야 합니다: " + recordKey);
+            }
+            byte[] body;
+            try {
+                body = objectMapper.writeValueAsBytes(response);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("응답 직렬화 실패", e);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            recordRepository.insert(recordKey, userId, requestHash, body, now, now.plus(ttl));
+            stored = new StoredResponse(requestHash, body);
+        }
+    }
+
+    // 저장된 첫 응답 (요청 본문 해시 + 응답 JSON)
+    private static final class StoredResponse {
+        private final String requestHash;
+        private final byte[] body;
+
+        private StoredResponse(String requestHash, byte[] body) {
+            this.requestHash = requestHash;
+            this.body = body;
+        }
+    }
+
+    /**
+     * execute 결과: 응답 JSON 과 저장된 응답을 다시 보낸 것인지 여부
+     */
+    public static final class Result {
+        private final StoredResponse stored;
+        private final boolean replayed;
+
+        private Result(StoredResponse stored, boolean replayed) {
+            this.stored = stored;
+            this.replayed = replayed;
+        }
+
+        public byte[] getBody() { return stored.body; }
+        public boolean isReplayed() { return replayed; }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.bookstore.order.repository;
+
+import com.example.bookstore.order.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // 응답 저장: 업무 트랜잭션 안에서 호출한다. (같은 키가 있으면 중복 키 예외 -> 업무 트랜잭션 전체 롤백)
+    @Modifying
+    @Query(
+            value = """
+                    INSERT INTO idempotency_keys (record_key, user_id, request_hash, response_body, created_at, expires_at)
+                    VALUES (:recordKey, :userId, :requestHash, :responseBody, :now, :expiresAt)
+                    """,
+            nativeQuery = true
+    )
+    int insert(@Param("recordKey") String recordKey,
+               @Param("userId") Long userId,
+               @Param("requestHash") String requestHash,
+               @Param("responseBody") byte[] responseBody,
+               @Param("now") LocalDateTime now,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query(
+            value = "DELETE FROM idempotency_keys WHERE record_key = :recordKey AND expires_at < :now",
+            nativeQuery = true
+    )
+    int deleteExpired(@Param("recordKey") String recordKey, @Param("now") LocalDateTime now);
+
+    // 만료 행 정리 (한 번에 limit 행씩)
+    @Modifying
+    @Query(
+            value = "DELETE FROM idempotency_keys WHERE expires_at < :now LIMIT :limit",
+            nativeQuery = true
+    )
+    int deleteAllExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -2,6 +2,39 @@ package com.example.bookstore.order.repository;
 
 import com.example.bookstore.order.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    // (order_id, id) 순서로 afterOrderId/afterId 다음 행부터 limit 개 (keyset 청크 조회)
+    // order_id FK 인덱스가 (order_id, id) 순서라 정렬 없이 인덱스 범위 스캔으로 읽는다.
+    @Query(
+            value = """
+                    SELECT oi.id AS id, oi.order_id AS orderId, oi.book_id AS bookId
+                    FROM order_items oi
+                    WHERE (oi.order_id, oi.id) > (:afterOrderId, :afterId)
+                    ORDER BY oi.order_id, oi.id
+                    LIMIT :limit
+                    """,
+            nativeQuery = true
+    )
+    List<OrderItemRow> findChunkAfter(@Param("afterOrderId") long afterOrderId,
+                                      @Param("afterId") long afterId,
+                                      @Param("limit") int limit);
+
+    // 사용자들이 구매한 도서 (사용자, 도서) 중복 제거
+    @Query(
+            value = """
+                    SELECT DISTINCT o.user_id AS userId, oi.book_id AS bookId
+                    FROM orders o
+                    JOIN order_items oi ON oi.order_id = o.id
+                    WHERE o.user_id IN (:userIds)
+                    """,
+            nativeQuery = true
+    )
+    List<UserBookRow> findPurchasedBooks(@Param("userIds") Collection<Long> userIds);
 }
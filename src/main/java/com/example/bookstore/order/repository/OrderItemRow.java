@@ -0,0 +1,13 @@
+package com.example.bookstore.order.repository;
+
+/**
+ * order_items 스트리밍용 projection (엔티티/Order 로딩 없이 필요한 컬럼만)
+ */
+public interface OrderItemRow {
+
+    Long getId();
+
+    Long getOrderId();
+
+    Long getBookId();
+}
@@ -0,0 +1,11 @@
+package com.example.bookstore.order.repository;
+
+/**
+ * 사용자별 구매 도서 projection (추천 배치용)
+ */
+public interface UserBookRow {
+
+    Long getUserId();
+
+    Long getBookId();
+}
@@ -1,22 +1,40 @@
 package com.example.bookstore.order.service;
 
+import com.example.bookstore.book.cache.BookCache;
 import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.index.BookChangedEvent;
+import com.example.bookstore.book.inventory.HotInventory;
 import com.example.bookstore.book.repository.BookRepository;
+import com.example.bookstore.book.repository.BookSalesRepository;
+import com.example.bookstore.book.trending.BookActivityEvent;
 import com.example.bookstore.common.exception.BusinessException;
 import com.example.bookstore.common.exception.ErrorCode;
 import com.example.bookstore.order.OrderStatus;
 import com.example.bookstore.order.dto.OrderRequestDto;
 import com.example.bookstore.order.entity.Order;
 import com.example.bookstore.order.entity.OrderItem;
+import com.example.bookstore.order.event.OrderCreatedEvent;
 import com.example.bookstore.order.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -24,17 +42,56 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
     private final BookRepository bookRepository;
+    private final BookCache bookCache;
+    private final BookSalesRepository bookSalesRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotInventory hotInventory;
+    private final TransactionTemplate transactionTemplate;
+
+    // 동시에 열 수 있는 주문 저장 트랜잭션 수 = 커넥션 풀 크기 - 1
+    // orders/order_items 의 TABLE id 생성기는 50개마다 id_generators 를 "별도 커넥션" 으로 갱신한다.
+    // 주문 트랜잭션이 풀을 전부 잡고 있으면 id 블록을 받을 커넥션이 없어 서로 기다리므로, 한 개는 항상 남겨 둔다.
+    private final Semaphore writePermits;
+    private final long writePermitTimeoutMillis;
 
     public OrderService(OrderRepository orderRepository,
-                        BookRepository bookRepository) {
+                        BookRepository bookRepository,
+                        BookCache bookCache,
+                        BookSalesRepository bookSalesRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        HotInventory hotInventory,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxPoolSize,
+                        @Value("${spring.datasource.hikari.connection-timeout:30000}") long connectionTimeoutMillis) {
         this.orderRepository = orderRepository;
         this.bookRepository = bookRepository;
+        this.bookCache = bookCache;
+        this.bookSalesRepository = bookSalesRepository;
+        this.eventPublisher = eventPublisher;
+        this.hotInventory = hotInventory;
+        this.transactionTemplate = transactionTemplate;
+        this.writePermits = new Semaphore(Math.max(1, maxPoolSize - 1), true);
+        this.writePermitTimeoutMillis = connectionTimeoutMillis;
     }
 
     /**
      * 1) 주문 생성 (일반 사용자)
+     * - 핫 재고 도서는 DB 트랜잭션을 열기 전에 메모리 카운터에서 차감한다.
+     *   (임대용 커넥션을 주문 트랜잭션이 커넥션을 쥔 채로 기다리지 않도록)
+     * - 나머지 저장/재고 차감은 트랜잭션 하나로 처리하고, 실패하면 핫 재고 차감분을 되돌린다.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderResponse createOrder(Long userId, OrderRequestDto.CreateOrderRequest request) {
+        return createOrder(userId, request, response -> {});
+    }
+
+    /**
+     * 주문 생성 + 커밋 직전 콜백
+     * - beforeCommit 은 주문 저장 트랜잭션 안에서 호출된다. (Idempotency-Key 응답 저장 등, 주문과 같이 커밋/롤백되어야 하는 쓰기)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderResponse createOrder(Long userId, OrderRequestDto.CreateOrderRequest request,
+                                     Consumer<OrderResponse> beforeCommit) {
 
         if (request == null || request.getItems() == null || request.getItems().isEmpty()) {
             throw new BusinessException(ErrorCode.BAD_REQUEST, Map.of(
@@ -42,24 +99,43 @@ public class OrderService {
             ));
         }
 
+        // 같은 도서가 여러 줄이면 한 줄로 합친다. (요청 순서 유지)
+        Map<Long, Long> requestedUnits = new LinkedHashMap<>();
+        for (OrderRequestDto.OrderItemRequest itemReq : request.getItems()) {
+            if (itemReq.getQuantity() <= 0) {
+                throw new BusinessException(ErrorCode.BAD_REQUEST, Map.of(
+                        "quantity", "수량은 1 이상이어야 합니다."
+                ));
+            }
+            requestedUnits.merge(itemReq.getBookId(), (long) itemReq.getQuantity(), Long::sum);
+        }
+
+        // 가격만 읽으므로 캐시에서 조회 (캐시에 없는 도서는 findAllById 한 번으로 로딩)
+        Map<Long, Book> books = bookCache.findAll(requestedUnits.keySet());
+
+        List<Long> missingIds = requestedUnits.keySet().stream()
+                .filter(bookId -> !books.containsKey(bookId))
+                .toList();
+        if (!missingIds.isEmpty()) {
+            throw new BusinessException(ErrorCode.BOOK_NOT_FOUND, Map.of(
+                    "bookIds", missingIds.stream().map(String::valueOf).collect(Collectors.joining(","))
+            ));
+        }
+
         Order order = new Order();
         order.setUserId(userId);
         order.setStatus(OrderStatus.PENDING);
 
         int totalPrice = 0;
 
-        for (OrderRequestDto.OrderItemRequest itemReq : request.getItems()) {
-            Long bookId = itemReq.getBookId();
-            int quantity = itemReq.getQuantity();
-
-            if (quantity <= 0) {
+        for (Map.Entry<Long, Long> entry : requestedUnits.entrySet()) {
+            if (entry.getValue() > Integer.MAX_VALUE) {
                 throw new BusinessException(ErrorCode.BAD_REQUEST, Map.of(
-                        "quantity", "수량은 1 이상이어야 합니다."
+                        "quantity", "수량이 너무 큽니다."
                 ));
             }
-
-            Book book = bookRepository.findById(bookId)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.BOOK_NOT_FOUND));
+            Book book = books.get(entry.getKey());
+            int quantity = entry.getValue().intValue();
 
             int unitPrice = book.getPrice();
             int linePrice = unitPrice * quantity;
@@ -71,11 +147,81 @@ public class OrderService {
 
         order.setTotalPrice(totalPrice);
 
+        // 도서 id 순서로 갱신해서 동시 주문끼리 행 잠금 순서가 엇갈리지 않게 한다. (books -> book_sales 순)
+        Map<Long, Long> unitsByBook = new TreeMap<>(requestedUnits);
+
+        Map<Long, Long> hotReserved = new HashMap<>();
+        try {
+            // 핫 재고 도서: 메모리 카운터 차감 (행 잠금 없음)
+            unitsByBook.forEach((bookId, units) -> {
+                if (hotInventory.reserve(bookId, units)) {
+                    hotReserved.put(bookId, units);
+                }
+            });
+
+            acquireWritePermit();
+            try {
+                return transactionTemplate.execute(status -> {
+                    OrderResponse response = saveOrder(userId, order, unitsByBook, hotReserved);
+                    beforeCommit.accept(response);
+                    return response;
+                });
+            } finally {
+                writePermits.release();
+            }
+        } catch (RuntimeException e) {
+            hotReserved.forEach(hotInventory::release);
+            throw e;
+        }
+    }
+
+    private void acquireWritePermit() {
+        boolean acquired;
+        try {
+            acquired = writePermits.tryAcquire(writePermitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, Map.of(
+                    "order", "주문 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요."
+            ));
+        }
+    }
+
+    private OrderResponse saveOrder(Long userId, Order order,
+                                    Map<Long, Long> unitsByBook, Map<Long, Long> hotReserved) {
+        // 재고 차감: 한 줄이라도 부족하면 예외 -> 주문 전체 롤백
+        unitsByBook.forEach((bookId, units) -> {
+            if (!hotReserved.containsKey(bookId)) {
+                reserveStock(bookId, units);
+            }
+        });
+
         Order saved = orderRepository.save(order);
 
+        // 베스트셀러 집계(book_sales)도 같은 트랜잭션에서 누적
+        unitsByBook.forEach(bookSalesRepository::addUnits);
+
+        // 트렌드 점수는 커밋 후 이벤트로 누적 (롤백된 주문은 반영되지 않음)
+        unitsByBook.forEach((bookId, units) -> eventPublisher.publishEvent(BookActivityEvent.ordered(bookId, units)));
+        eventPublisher.publishEvent(new OrderCreatedEvent(saved.getId(), userId, new ArrayList<>(unitsByBook.keySet())));
+
         return OrderResponse.from(saved);
     }
 
+    private void reserveStock(Long bookId, long quantity) {
+        if (bookRepository.decreaseStock(bookId, quantity) == 0) {
+            throw new BusinessException(ErrorCode.OUT_OF_STOCK, Map.of(
+                    "bookId", String.valueOf(bookId),
+                    "quantity", String.valueOf(quantity)
+            ));
+        }
+        // 캐시/검색 인덱스의 재고는 커밋 후 갱신
+        eventPublisher.publishEvent(BookChangedEvent.stockChanged(bookId));
+    }
+
     /**
      * 2) 내 주문 목록 조회
      */
@@ -2,10 +2,17 @@ package com.example.bookstore.review.repository;
 
 import com.example.bookstore.review.entity.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     List<Review> findByBookIdOrderByCreatedAtDesc(Long bookId);
+
+    // 사용자들의 (도서, 평점) 목록 (추천 배치용)
+    @Query("SELECT r.userId AS userId, r.bookId AS bookId, r.rating AS rating FROM Review r WHERE r.userId IN :userIds")
+    List<UserRatingRow> findRatingsByUserIds(@Param("userIds") Collection<Long> userIds);
 }
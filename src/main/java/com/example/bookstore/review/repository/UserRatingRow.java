@@ -0,0 +1,13 @@
+package com.example.bookstore.review.repository;
+
+/**
+ * 사용자별 리뷰 평점 projection (추천 배치용, 리뷰 본문은 읽지 않음)
+ */
+public interface UserRatingRow {
+
+    Long getUserId();
+
+    Long getBookId();
+
+    int getRating();
+}
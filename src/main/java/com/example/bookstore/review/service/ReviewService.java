@@ -1,8 +1,11 @@
 package com.example.bookstore.review.service;
 
 import com.example.bookstore.auth.jwt.SecurityUtil;
+import com.example.bookstore.book.cache.BookCache;
 import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.index.BookChangedEvent;
 import com.example.bookstore.book.repository.BookRepository;
+import com.example.bookstore.book.trending.BookActivityEvent;
 import com.example.bookstore.common.exception.BusinessException;
 import com.example.bookstore.common.exception.ErrorCode;
 import com.example.bookstore.review.dto.ReviewRequestDto;
@@ -11,6 +14,7 @@ import com.example.bookstore.review.dto.ReviewResponseDto.ReviewResponse;
 import com.example.bookstore.review.dto.ReviewUpdateRequest;
 import com.example.bookstore.review.entity.Review;
 import com.example.bookstore.review.repository.ReviewRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,11 +26,17 @@ public class ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final BookRepository bookRepository;
+    private final BookCache bookCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ReviewService(ReviewRepository reviewRepository,
-                         BookRepository bookRepository) {
+                         BookRepository bookRepository,
+                         BookCache bookCache,
+                         ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
         this.bookRepository = bookRepository;
+        this.bookCache = bookCache;
+        this.eventPublisher = eventPublisher;
     }
 
     // 🔹 1. 특정 책의 리뷰 목록 조회
@@ -43,8 +53,8 @@ public class ReviewService {
             Long bookId,
             ReviewRequestDto.CreateReviewRequest request
     ) {
-        // 1) 책 존재 여부 확인
-        Book book = bookRepository.findById(bookId)
+        // 1) 책 존재 여부 확인 (읽기만 하므로 캐시)
+        bookCache.find(bookId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.BOOK_NOT_FOUND));
 
         // 2) 현재 로그인한 사용자 ID (JWT 기반)
@@ -61,7 +71,8 @@ public class ReviewService {
         reviewRepository.save(review);
 
         // 4) 책의 평균 평점/리뷰수 갱신
-        recalcBookStats(book);
+        recalcBookStats(bookId);
+        eventPublisher.publishEvent(BookActivityEvent.reviewed(bookId));
 
         // 5) DTO 변환
         return ReviewResponse.from(review);
@@ -92,9 +103,7 @@ public class ReviewService {
         review.setContent(request.getContent());
 
         // 책 평점/리뷰수 갱신
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.BOOK_NOT_FOUND));
-        recalcBookStats(book);
+        recalcBookStats(bookId);
 
         return ReviewResponse.from(review);
     }
@@ -118,13 +127,15 @@ public class ReviewService {
         reviewRepository.delete(review);
 
         // 책 평점/리뷰수 갱신
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.BOOK_NOT_FOUND));
-        recalcBookStats(book);
+        recalcBookStats(bookId);
     }
 
     // 🔹 공통: 책의 평균 평점 및 리뷰 수 다시 계산
-    private void recalcBookStats(Book book) {
+    // (값을 바꾸므로 캐시가 아닌 영속 상태의 Book 을 조회, 캐시는 커밋 후 BookChangedEvent 로 무효화)
+    private void recalcBookStats(Long bookId) {
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.BOOK_NOT_FOUND));
+
         List<Review> reviews = reviewRepository.findByBookIdOrderByCreatedAtDesc(book.getId());
         long reviewCount = reviews.size();
         double averageRating = reviews.stream()
@@ -135,5 +146,8 @@ public class ReviewService {
         book.setReviewCount(reviewCount);
         book.setAverageRating(averageRating);
         bookRepository.save(book);
+
+        // 메모리 인덱스 등은 커밋 후 이 이벤트를 받아 갱신된다.
+        eventPublisher.publishEvent(new BookChangedEvent(book.getId()));
     }
 }
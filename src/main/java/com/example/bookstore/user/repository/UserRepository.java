@@ -5,7 +5,10 @@ import com.example.bookstore.user.entity.UserStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -18,4 +21,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // (선택) 관리자용 상태별 조회 - 지금 UserService에서는 안 써도 되고, 있어도 문제 없음
     Page<User> findByUserStatus(UserStatus status, Pageable pageable);
+
+    // afterId 다음 사용자 id (keyset 청크 조회, 추천 배치용)
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,14 @@
+-- V11__add_book_filter_indexes.sql
+-- 도서 검색 범위 필터 + 정렬 조합용 복합 인덱스
+-- 범위 조건 컬럼 = 정렬 선두 컬럼인 조합만 허용하므로 (BookSearchService.checkIndexable)
+-- 인덱스 하나로 범위 스캔과 정렬을 함께 처리한다. (끝에 PK id 가 붙어 id 보조 정렬도 인덱스 순서)
+
+-- 카테고리 없이 필터
+CREATE INDEX idx_books_price ON books (price);
+CREATE INDEX idx_books_rating ON books (average_rating, review_count);
+CREATE INDEX idx_books_created_at ON books (created_at);
+
+-- 카테고리 + 필터 (category_id 동등 조건 뒤에 범위/정렬 컬럼)
+CREATE INDEX idx_books_category_price ON books (category_id, price);
+CREATE INDEX idx_books_category_rating ON books (category_id, average_rating, review_count);
+CREATE INDEX idx_books_category_created_at ON books (category_id, created_at);
@@ -0,0 +1,19 @@
+-- V12__create_book_sales.sql
+-- 도서별 누적 판매 수량 집계 (베스트셀러 조회용)
+-- 주문 생성 트랜잭션에서 증가시키므로 order_items 전체를 GROUP BY 하지 않아도 된다.
+
+CREATE TABLE IF NOT EXISTS book_sales (
+    book_id     BIGINT   NOT NULL PRIMARY KEY,
+    units_sold  BIGINT   NOT NULL DEFAULT 0,
+    updated_at  DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_book_sales_book
+        FOREIGN KEY (book_id) REFERENCES books(id),
+    -- 판매량 내림차순 상위 N 을 인덱스 역순 스캔으로 바로 읽는다.
+    INDEX idx_book_sales_units (units_sold, book_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 기존 주문 내역으로 초기값 채우기
+INSERT INTO book_sales (book_id, units_sold)
+SELECT oi.book_id, SUM(oi.quantity)
+FROM order_items oi
+GROUP BY oi.book_id;
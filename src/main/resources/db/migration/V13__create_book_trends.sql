@@ -0,0 +1,12 @@
+-- V13__create_book_trends.sql
+-- 트렌드(지수 감쇠) 점수 스냅샷. 메모리 누적값을 주기적으로 저장해 재시작 후에도 순위를 이어간다.
+-- 파생 데이터라 books FK 는 두지 않는다. (삭제된 도서 행은 점수가 줄어들면 정리됨)
+
+CREATE TABLE IF NOT EXISTS book_trends (
+    book_id    BIGINT NOT NULL PRIMARY KEY,
+    score_1h   DOUBLE NOT NULL DEFAULT 0,
+    score_24h  DOUBLE NOT NULL DEFAULT 0,
+    score_7d   DOUBLE NOT NULL DEFAULT 0,
+    -- 점수 기준 시각 (epoch milliseconds)
+    scored_at  BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
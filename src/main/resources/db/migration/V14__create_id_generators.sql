@@ -0,0 +1,16 @@
+-- V14__create_id_generators.sql
+-- orders / order_items 의 id 를 테이블 기반 pooled 생성기로 발급한다.
+-- IDENTITY 는 INSERT 를 실행해야 id 를 알 수 있어서 Hibernate 가 JDBC 배치 INSERT 를 쓰지 못한다.
+-- next_val 은 "다음에 임대할 블록의 끝 값" (블록 크기 = 엔티티의 allocationSize = 50)
+
+CREATE TABLE IF NOT EXISTS id_generators (
+    gen_name  VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val  BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 기존 AUTO_INCREMENT 로 발급된 id 와 겹치지 않도록 현재 최댓값 이후부터 시작
+INSERT INTO id_generators (gen_name, next_val)
+SELECT 'orders', COALESCE(MAX(id), 0) + 50 FROM orders;
+
+INSERT INTO id_generators (gen_name, next_val)
+SELECT 'order_items', COALESCE(MAX(id), 0) + 50 FROM order_items;
@@ -0,0 +1,15 @@
+-- V15__create_idempotency_keys.sql
+-- POST /api/orders 의 Idempotency-Key 별 첫 응답 저장소 (재시도 시 같은 응답을 그대로 돌려준다)
+-- record_key = "{userId}:{Idempotency-Key}"
+-- 행은 주문 트랜잭션 안에서 응답과 함께 INSERT 된다. (주문과 같이 커밋/롤백, 응답 없는 선점 행 없음)
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    record_key     VARCHAR(150) NOT NULL PRIMARY KEY,
+    user_id        BIGINT NOT NULL,
+    -- 요청 본문 SHA-256 (같은 키로 다른 본문을 보내면 422)
+    request_hash   CHAR(64) NOT NULL,
+    response_body  MEDIUMBLOB NOT NULL,
+    created_at     DATETIME(3) NOT NULL,
+    expires_at     DATETIME(3) NOT NULL,
+    INDEX idx_idempotency_keys_expires_at (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,50 @@
+package com.example.bookstore.book;
+
+import com.example.bookstore.book.cache.BookCache;
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.repository.BookRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+@SpringBootTest
+class BookCacheTest {
+
+    @Autowired
+    BookCache bookCache;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("도서 캐시 - 롤백된 트랜잭션의 변경 값이 캐시에 남지 않음")
+    void find_rolledBackChange_notCached() {
+        bookCache.invalidate(1L);
+        double originalRating = bookRepository.findById(1L).orElseThrow().getAverageRating();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // 변경 전 조회: 트랜잭션의 managed 인스턴스를 캐시가 공유하면 아래 변경이 그대로 보인다.
+            Book cached = bookCache.find(1L).orElseThrow();
+            Book managed = bookRepository.findById(1L).orElseThrow();
+            assertThat(cached, not(sameInstance(managed)));
+
+            managed.setAverageRating(originalRating + 1.0);
+            // 변경 후 조회도 캐시를 채우지 않아야 한다.
+            bookCache.find(1L);
+
+            status.setRollbackOnly();
+        });
+
+        assertThat(bookCache.find(1L).orElseThrow().getAverageRating(), is(originalRating));
+    }
+}
@@ -1,9 +1,25 @@
 package com.example.bookstore.book;
 
 import com.example.bookstore.support.IntegrationTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -19,6 +35,25 @@ class BookControllerTest extends IntegrationTestSupport {
                 .andExpect(jsonPath("$.success").value(true));
     }
 
+    @Test
+    @DisplayName("전체 도서 내보내기 성공 - 한 줄에 도서 하나씩 id 순 NDJSON")
+    void exportBooks_ndjson_success() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/books/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines.length, greaterThanOrEqualTo(3));
+
+        long previousId = 0;
+        for (String line : lines) {
+            JsonNode book = objectMapper.readTree(line);
+            assertThat(book.path("id").asLong(), greaterThan(previousId));
+            previousId = book.path("id").asLong();
+        }
+    }
+
     @Test
     @DisplayName("도서 상세 조회 성공 - 존재하는 ID")
     void getBookDetail_success() throws Exception {
@@ -42,4 +77,389 @@ class BookControllerTest extends IntegrationTestSupport {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true));
     }
+
+    @Test
+    @DisplayName("도서 검색 성공 - 제목 키워드 부분 일치")
+    void searchBooks_keyword_success() throws Exception {
+        // 시드 데이터 기준 '자바의 정석' 이 존재한다고 가정
+        mockMvc.perform(
+                        get("/api/books/search")
+                                .param("keyword", "자바")
+                                .param("page", "0")
+                                .param("size", "10")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.payload.content[0].title").value(containsString("자바")));
+    }
+
+    @Test
+    @DisplayName("도서 검색 성공 - 관련도(relevance) 정렬")
+    void searchBooks_relevance_success() throws Exception {
+        mockMvc.perform(
+                        get("/api/books/search")
+                                .param("keyword", "자바")
+                                .param("sort", "relevance")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.payload.content[0].title").value(containsString("자바")));
+    }
+
+    @Test
+    @DisplayName("도서 검색 성공 - 커서(after) 페이지는 이전 페이지 다음 행부터 이어진다")
+    void searchBooks_cursor_success() throws Exception {
+        MvcResult first = mockMvc.perform(
+                        get("/api/books/search")
+                                .param("size", "2")
+                                .param("sort", "id,ASC")
+                                .param("after", "")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.hasNext").value(true))
+                .andReturn();
+
+        JsonNode payload = objectMapper.readTree(first.getResponse().getContentAsString()).path("payload");
+        long lastId = payload.path("content").get(1).path("id").asLong();
+        String nextCursor = payload.path("nextCursor").asText();
+
+        mockMvc.perform(
+                        get("/api/books/search")
+                                .param("size", "2")
+                                .param("sort", "id,ASC")
+                                .param("after", nextCursor)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.content[0].id").value(greaterThan((int) lastId)));
+    }
+
+    @Test
+    @DisplayName("키워드 검색 커서 페이지 - 끝까지 넘기면 매칭 도서를 중복/누락 없이 가격 순으로 한 번씩 반환")
+    void searchBooks_keywordCursor_walksAllMatches() throws Exception {
+        MvcResult paged = mockMvc.perform(
+                        get("/api/books/search")
+                                .param("keyword", "자바")
+                                .param("size", "50")
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+        long total = objectMapper.readTree(paged.getResponse().getContentAsString())
+                .path("payload").path("totalElements").asLong();
+        assertThat(total, greaterThan(1L));
+
+        Set<Long> seen = new HashSet<>();
+        int lastPrice = Integer.MIN_VALUE;
+        String after = "";
+        for (int pages = 0; after != null && pages <= total; pages++) {
+            MvcResult result = mockMvc.perform(
+                            get("/api/books/search")
+                                    .param("keyword", "자바")
+                                    .param("size", "1")
+                                    .param("sort", "price,ASC")
+                                    .param("after", after)
+                    )
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode payload = objectMapper.readTree(result.getResponse().getContentAsString()).path("payload");
+            for (JsonNode book : payload.path("content")) {
+                assertThat(seen.add(book.path("id").asLong()), is(true));
+                assertThat(book.path("price").asInt(), greaterThanOrEqualTo(lastPrice));
+                lastPrice = book.path("price").asInt();
+            }
+            after = payload.path("hasNext").asBoolean() ? payload.path("nextCursor").asText() : null;
+        }
+
+        assertThat((long) seen.size(), is(total));
+    }
+
+    @Test
+    @DisplayName("도서 검색 실패 - 정렬 조건과 맞지 않는 커서")
+    void searchBooks_cursor_invalid() throws Exception {
+        mockMvc.perform(
+                        get("/api/books/search")
+                                .param("sort", "price,ASC")
+                                .param("after", "invalid-cursor")
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("도서 검색 성공 - withTotal=false 는 전체 개수 없이 hasNext 만 반환")
+    void searchBooks_withoutTotal_success() throws Exception {
+        mockMvc.perform(
+                        get("/api/books/search")
+                                .param("size", "2")
+                                .param("withTotal", "false")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.hasNext").value(true))
+                .andExpect(jsonPath("$.payload.totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("도서 자동완성 성공 - 제목 prefix")
+    void autocomplete_success() throws Exception {
+        mockMvc.perform(
+                        get("/api/books/autocomplete")
+                                .param("q", "자바")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.payload[0].text").value(containsString("자바")));
+    }
+
+    @Test
+    @DisplayName("도서 초성 검색 성공 - mode=chosung")
+    void searchBooks_chosung_success() throws Exception {
+        mockMvc.perform(
+                        get("/api/books/search")
+                                .param("keyword", "ㅈㅂㅇㅈㅅ")
+                                .param("mode", "chosung")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.payload.content[0].title").value(containsString("자바")));
+    }
+
+    @Test
+    @DisplayName("도서 초성 검색 실패 - 인덱스가 모르는 정렬 필드면 DB 로 우회하지 않고 400")
+    void searchBooks_chosung_fail_unsupportedSort() throws Exception {
+        mockMvc.perform(
+                        get("/api/books/search")
+                                .param("keyword", "ㅈㅂㅇㅈㅅ")
+                                .param("mode", "chosung")
+                                .param("sort", "updatedAt,DESC")
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("도서 검색 오타 교정 - 결과가 없으면 didYouMean 으로 다시 검색")
+    void searchBooks_didYouMean_success() throws Exception {
+        mockMvc.perform(
+                        get("/api/books/search")
+                                .param("keyword", "프로그레밍")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.payload.didYouMean").value("프로그래밍"))
+                .andExpect(jsonPath("$.payload.content[0].title").value(containsString("프로그래밍")));
+    }
+
+    @Test
+    @DisplayName("도서 검색 패싯 성공 - category/priceBucket/rating 개수")
+    void searchBooks_facets_success() throws Exception {
+        mockMvc.perform(
+                        get("/api/books/search")
+                                .param("keyword", "자바")
+                                .param("facets", "category,priceBucket,rating")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.payload.facets.category[0].count").value(greaterThan(0)))
+                .andExpect(jsonPath("$.payload.facets.priceBucket.length()").value(5))
+                .andExpect(jsonPath("$.payload.facets.rating.length()").value(5));
+    }
+
+    @Test
+    @DisplayName("도서 검색 패싯 실패 - 지원하지 않는 패싯 이름")
+    void searchBooks_facets_invalid() throws Exception {
+        mockMvc.perform(
+                        get("/api/books/search")
+                                .param("facets", "publisher")
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("도서 검색 범위 필터 성공 - minPrice + 가격 정렬")
+    void searchBooks_rangeFilter_success() throws Exception {
+        mockMvc.perform(
+                        get("/api/books/search")
+                                .param("minPrice", "30000")
+                                .param("inStock", "true")
+                                .param("sort", "price,ASC")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.payload.content[*].price", everyItem(greaterThanOrEqualTo(30000))));
+    }
+
+    @Test
+    @DisplayName("도서 검색 패싯 + 범위 필터 - 필터 밖 가격 구간은 0건")
+    void searchBooks_facets_rangeFilter() throws Exception {
+        mockMvc.perform(
+                        get("/api/books/search")
+                                .param("minPrice", "30000")
+                                .param("sort", "price,ASC")
+                                .param("facets", "priceBucket")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.facets.priceBucket[0].count").value(0))
+                .andExpect(jsonPath("$.payload.facets.priceBucket[1].count").value(0))
+                .andExpect(jsonPath("$.payload.facets.priceBucket[2].count").value(0));
+    }
+
+    @Test
+    @DisplayName("도서 검색 범위 필터 실패 - 인덱스로 처리할 수 없는 필터 + 정렬 조합")
+    void searchBooks_rangeFilter_unsupportedSort() throws Exception {
+        mockMvc.perform(
+                        get("/api/books/search")
+                                .param("minPrice", "30000")
+                                .param("sort", "createdAt,DESC")
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("도서 상세 반복 조회 - 두 번째부터 캐시 적중")
+    void getBook_cacheHit_success() throws Exception {
+        mockMvc.perform(get("/api/books/1")).andExpect(status().isOk());
+        long hitsBefore = bookCacheHits();
+
+        mockMvc.perform(get("/api/books/1")).andExpect(status().isOk());
+
+        assertThat(bookCacheHits(), greaterThan(hitsBefore));
+    }
+
+    private long bookCacheHits() throws Exception {
+        MvcResult result = mockMvc.perform(
+                        get("/api/admin/stats/cache")
+                                .header("Authorization", bearer(adminAccessToken))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload[0].name").value("books"))
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString())
+                .path("payload").path(0).path("hitCount").asLong();
+    }
+
+    @Test
+    @DisplayName("도서 여러 건 조회 - 요청 순서 유지, 없는 도서는 found=false")
+    void getBooksByIds_success() throws Exception {
+        mockMvc.perform(get("/api/books/batch").param("ids", "2,99999999,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.length()").value(3))
+                .andExpect(jsonPath("$.payload[0].id").value(2))
+                .andExpect(jsonPath("$.payload[0].found").value(true))
+                .andExpect(jsonPath("$.payload[0].book.id").value(2))
+                .andExpect(jsonPath("$.payload[1].id").value(99999999))
+                .andExpect(jsonPath("$.payload[1].found").value(false))
+                .andExpect(jsonPath("$.payload[2].id").value(1))
+                .andExpect(jsonPath("$.payload[2].found").value(true));
+    }
+
+    @Test
+    @DisplayName("도서 여러 건 조회 실패 - 빈 id 또는 숫자가 아닌 id 는 400")
+    void getBooksByIds_invalidIds() throws Exception {
+        mockMvc.perform(get("/api/books/batch").param("ids", "1,,2"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/books/batch").param("ids", "1,abc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/books/batch").param("ids", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("평점 상위 도서 조회 - size 는 100 으로 제한되고 평점 내림차순")
+    void getTopRatedBooks_clampedAndOrdered() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/books/top-rated").param("size", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.length()").value(lessThanOrEqualTo(100)))
+                .andReturn();
+
+        JsonNode payload = objectMapper.readTree(result.getResponse().getContentAsString()).path("payload");
+        for (int i = 1; i < payload.size(); i++) {
+            assertThat(payload.get(i).path("averageRating").asDouble(),
+                    lessThanOrEqualTo(payload.get(i - 1).path("averageRating").asDouble()));
+        }
+    }
+
+    @Test
+    @DisplayName("트렌드 도서 조회 실패 - 지원하지 않는 window")
+    void getTrendingBooks_invalidWindow() throws Exception {
+        mockMvc.perform(get("/api/books/trending").param("window", "2h"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("같이 산 도서 조회 실패 - 존재하지 않는 도서")
+    void getAlsoBoughtBooks_notFound() throws Exception {
+        mockMvc.perform(get("/api/books/99999999/also-bought"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("추천 도서 조회 - 동시 요청 합치기 통계에 호출 수 집계")
+    void getRecommendations_coalescingStats() throws Exception {
+        mockMvc.perform(get("/api/books/recommendations")).andExpect(status().isOk());
+
+        mockMvc.perform(
+                        get("/api/admin/stats/coalescing")
+                                .header("Authorization", bearer(adminAccessToken))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload[?(@.name == 'recommendations')].calls", everyItem(greaterThan(0))))
+                .andExpect(jsonPath("$.payload[*].name", hasItem("recommendations")));
+    }
+
+    @Test
+    @DisplayName("최근 도서 목록 반복 조회 - 두 번째부터 응답 바이트 캐시 적중")
+    void getLatestBooks_responseCacheHit() throws Exception {
+        mockMvc.perform(get("/api/books/latest").param("size", "5")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/books/latest").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.payload.length()").value(5));
+
+        mockMvc.perform(
+                        get("/api/admin/stats/cache")
+                                .header("Authorization", bearer(adminAccessToken))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload[1].name").value("responses"))
+                .andExpect(jsonPath("$.payload[1].hitCount").value(greaterThan(0)));
+    }
+
+    @Test
+    @DisplayName("최근 도서 목록 조회 - size 가 0 이하면 기본 10, 너무 크면 100 으로 제한")
+    void getLatestBooks_sizeClamped() throws Exception {
+        mockMvc.perform(get("/api/books/latest").param("size", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.length()").value(10));
+        mockMvc.perform(get("/api/books/latest").param("size", "-5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.length()").value(10));
+        mockMvc.perform(get("/api/books/latest").param("size", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.length()").value(lessThanOrEqualTo(100)));
+    }
+
+    @Test
+    @DisplayName("추천 도서 조회 - size 가 너무 크면 100 으로 제한")
+    void getRecommendations_sizeClamped() throws Exception {
+        mockMvc.perform(get("/api/books/recommendations").param("size", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.bestSellers.length()").value(lessThanOrEqualTo(100)));
+    }
+
+    @Test
+    @DisplayName("최근 도서 목록 조회 - Accept-Encoding: gzip 이면 미리 압축한 응답")
+    void getLatestBooks_gzip() throws Exception {
+        MvcResult result = mockMvc.perform(
+                        get("/api/books/latest")
+                                .param("size", "20")
+                                .header("Accept-Encoding", "gzip")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            JsonNode root = objectMapper.readTree(in);
+            assertThat(root.path("success").asBoolean(), is(true));
+            assertThat(root.path("payload").size(), is(20));
+        }
+    }
 }
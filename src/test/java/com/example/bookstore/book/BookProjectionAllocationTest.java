@@ -0,0 +1,57 @@
+package com.example.bookstore.book;
+
+import com.example.bookstore.book.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * 전체 목록 조회 1회(조회 + JSON 직렬화) 당 할당 바이트 비교
+ * - before: 엔티티 findAll + 엔티티 직렬화
+ * - after : JPQL 생성자 projection + DTO 직렬화
+ */
+@SpringBootTest
+class BookProjectionAllocationTest {
+
+    private static final int WARMUP = 30;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("전체 목록 조회 - 요약 projection 이 엔티티 조회보다 요청당 할당 바이트가 적다")
+    void findAllSummaries_allocatesLessThanEntities() throws Exception {
+        long entityBytes = allocatedPerCall(() -> objectMapper.writeValueAsBytes(bookRepository.findAll()));
+        long projectionBytes = allocatedPerCall(() -> objectMapper.writeValueAsBytes(bookRepository.findAllSummaries()));
+
+        assertThat(projectionBytes, lessThan(entityBytes));
+    }
+
+    // 현재 스레드 기준 평균 할당 바이트 (HotSpot 전용 ThreadMXBean)
+    private long allocatedPerCall(Callable<?> call) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP; i++) {
+            call.call();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.call();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+}
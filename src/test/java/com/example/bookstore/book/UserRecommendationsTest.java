@@ -0,0 +1,98 @@
+package com.example.bookstore.book;
+
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.index.BookChangedEvent;
+import com.example.bookstore.book.recommend.CoPurchaseIndex;
+import com.example.bookstore.book.recommend.UserRecommendations;
+import com.example.bookstore.book.repository.BookRepository;
+import com.example.bookstore.book.search.TopRatedLeaderboard;
+import com.example.bookstore.order.dto.OrderRequestDto;
+import com.example.bookstore.order.event.OrderCreatedEvent;
+import com.example.bookstore.order.repository.OrderItemRepository;
+import com.example.bookstore.order.service.OrderService;
+import com.example.bookstore.review.repository.ReviewRepository;
+import com.example.bookstore.user.entity.Role;
+import com.example.bookstore.user.entity.User;
+import com.example.bookstore.user.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * 개인화 추천 점수 확인
+ * - 동시 구매 인덱스는 새로 만들어 정해진 주문 패턴만 넣는다. (테스트 DB 의 기존 주문과 무관하게 결과가 정해짐)
+ * - 사용자 이력은 새 사용자가 실제로 주문한 도서 1권
+ */
+@SpringBootTest
+class UserRecommendationsTest {
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    OrderItemRepository orderItemRepository;
+
+    @Autowired
+    ReviewRepository reviewRepository;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    TopRatedLeaderboard topRatedLeaderboard;
+
+    @Autowired
+    TaskScheduler taskScheduler;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Test
+    @DisplayName("1번 도서 구매자 - 1번과 같이 산 도서를 코사인 유사도 순(2 -> 3)으로 추천, 무관한 4번은 제외")
+    void rebuild_knownCoPurchases_recommendsByCosineSimilarity() {
+        // n(1)=4, n(2)=3, n(3)=3, c(1,2)=3, c(1,3)=2
+        // sim(1,2) = 3 / sqrt(4*3) = 0.87 > sim(1,3) = 2 / sqrt(4*3) = 0.58, 4번은 1번과 같이 산 적 없음
+        CoPurchaseIndex coPurchaseIndex = new CoPurchaseIndex(orderItemRepository, 20, 5000);
+        coPurchaseIndex.onOrderCreated(new OrderCreatedEvent(1L, 0L, List.of(1L, 2L, 3L)));
+        coPurchaseIndex.onOrderCreated(new OrderCreatedEvent(2L, 0L, List.of(1L, 2L)));
+        coPurchaseIndex.onOrderCreated(new OrderCreatedEvent(3L, 0L, List.of(1L, 2L)));
+        coPurchaseIndex.onOrderCreated(new OrderCreatedEvent(4L, 0L, List.of(1L, 3L)));
+        coPurchaseIndex.onOrderCreated(new OrderCreatedEvent(5L, 0L, List.of(3L, 4L)));
+
+        User buyer = userRepository.save(new User(
+                "rec-" + UUID.randomUUID() + "@example.com", "password", "추천 테스트", Role.ROLE_USER));
+        ensureStock(1L);
+        orderService.createOrder(buyer.getId(), new OrderRequestDto.CreateOrderRequest(
+                List.of(new OrderRequestDto.OrderItemRequest(1L, 1))));
+
+        UserRecommendations recommendations = new UserRecommendations(coPurchaseIndex, userRepository,
+                orderItemRepository, reviewRepository, bookRepository, topRatedLeaderboard, taskScheduler, 20, 500);
+        recommendations.rebuild();
+
+        UserRecommendations.RecommendedBooks result = recommendations.forUser(buyer.getId());
+        assertThat(result.isPersonalized(), is(true));
+        assertThat(result.getBookIds(), is(List.of(2L, 3L)));
+    }
+
+    // 테스트 DB 는 실행마다 초기화되지 않으므로 재고가 떨어졌으면 채운다.
+    private void ensureStock(Long bookId) {
+        Book book = bookRepository.findById(bookId).orElseThrow();
+        if (book.getStock() < 1) {
+            book.setStock(1000);
+            bookRepository.save(book);
+            eventPublisher.publishEvent(BookChangedEvent.stockChanged(bookId));
+        }
+    }
+}
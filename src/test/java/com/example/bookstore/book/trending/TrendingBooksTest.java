@@ -0,0 +1,77 @@
+package com.example.bookstore.book.trending;
+
+import com.example.bookstore.book.repository.BookTrendRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class TrendingBooksTest {
+
+    @Test
+    @DisplayName("주문 기록 후 window 별 순위 - 오래된 대량 주문은 7d 에서만 1위")
+    void record_ordersRankedPerWindow() {
+        TrendingBooks trending = new TrendingBooks(recordingRepository(new ArrayList<>(), null), 3.0);
+        long now = System.currentTimeMillis();
+
+        trending.record(1L, 2, now);
+        trending.record(2L, 5, now);
+        trending.record(3L, 1, now);
+        // 이틀 전 20권: 1h 는 0 에 가깝고(제외), 24h 는 20/e^2 = 2.7, 7d 는 20/e^(2/7) = 15
+        trending.record(4L, 20, now - Duration.ofDays(2).toMillis());
+
+        assertThat(ids(trending.top(TrendWindow.HOUR, 10)), is(List.of(2L, 1L, 3L)));
+        assertThat(ids(trending.top(TrendWindow.DAY, 10)), is(List.of(2L, 4L, 1L, 3L)));
+        assertThat(ids(trending.top(TrendWindow.WEEK, 10)), is(List.of(4L, 2L, 1L, 3L)));
+        assertThat(ids(trending.top(TrendWindow.WEEK, 2)), is(List.of(4L, 2L)));
+    }
+
+    @Test
+    @DisplayName("정리 도중 같은 도서에 새 주문 - 삭제 후 새 점수가 다시 저장되고 순위에 남음")
+    void compact_activityDuringPrune_snapshotKept() {
+        List<String> calls = new ArrayList<>();
+        TrendingBooks[] holder = new TrendingBooks[1];
+        // 정리 대상 삭제 중에 같은 도서의 주문이 커밋된 상황
+        Runnable duringDelete = () -> holder[0].record(5L, 3, System.currentTimeMillis());
+        TrendingBooks trending = new TrendingBooks(recordingRepository(calls, duringDelete), 3.0);
+        holder[0] = trending;
+
+        trending.record(5L, 0.001, System.currentTimeMillis()); // 정리 기준(0.01)보다 작음
+        trending.compact();
+
+        assertThat(calls, is(List.of("delete:[5]", "save:5")));
+        assertThat(ids(trending.top(TrendWindow.HOUR, 10)), is(List.of(5L)));
+    }
+
+    private static List<Long> ids(List<TrendScore> scores) {
+        return scores.stream().map(TrendScore::getBookId).toList();
+    }
+
+    // 저장/삭제 호출만 기록하는 저장소 (onDelete 는 삭제 호출 중에 실행)
+    private static BookTrendRepository recordingRepository(List<String> calls, Runnable onDelete) {
+        return (BookTrendRepository) Proxy.newProxyInstance(
+                BookTrendRepository.class.getClassLoader(),
+                new Class<?>[]{BookTrendRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "saveSnapshot" -> {
+                        calls.add("save:" + args[0]);
+                        yield 1;
+                    }
+                    case "deleteAllByIdInBatch" -> {
+                        calls.add("delete:" + new ArrayList<>((Collection<?>) args[0]));
+                        if (onDelete != null) {
+                            onDelete.run();
+                        }
+                        yield null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.bookstore.common;
+
+import com.example.bookstore.common.concurrent.SingleFlight;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    @Test
+    @DisplayName("같은 키 동시 호출 - loader 는 한 번만 실행되고 모든 호출이 같은 결과를 받음")
+    void run_concurrentSameKey_loadsOnce() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>("test");
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Object> results = runConcurrently(() -> singleFlight.run("key", () -> {
+            loads.incrementAndGet();
+            awaitFollowers(singleFlight);
+            return new Object();
+        }));
+
+        assertThat(loads.get(), is(1));
+        for (Object result : results) {
+            assertThat(result, sameInstance(results.get(0)));
+        }
+        assertThat(singleFlight.getCalls(), is((long) CALLERS));
+        assertThat(singleFlight.getCoalesced(), is((long) CALLERS - 1));
+    }
+
+    @Test
+    @DisplayName("같은 키 동시 호출 - leader 의 예외를 모든 호출이 그대로 받음")
+    void run_concurrentSameKey_sharesException() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>("test");
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        runConcurrently(() -> {
+            IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+                    singleFlight.run("key", () -> {
+                        loads.incrementAndGet();
+                        awaitFollowers(singleFlight);
+                        throw new IllegalStateException("load failed");
+                    }));
+            assertThat(e.getMessage(), is("load failed"));
+            failures.incrementAndGet();
+            return null;
+        });
+
+        assertThat(loads.get(), is(1));
+        assertThat(failures.get(), is(CALLERS));
+    }
+
+    // CALLERS 개 스레드를 latch 뒤에 세워 두고 동시에 출발
+    private static List<Object> runConcurrently(Callable<Object> call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // leader 의 loader 안에서 나머지 호출이 모두 합쳐질 때까지 대기 (먼저 끝나면 뒤늦은 호출이 새 leader 가 된다)
+    private static void awaitFollowers(SingleFlight<String> singleFlight) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getCoalesced() < CALLERS - 1) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("followers did not join: " + singleFlight.getCoalesced());
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.bookstore.order;
+
+import com.example.bookstore.order.dto.OrderRequestDto;
+import com.example.bookstore.order.service.OrderService;
+import com.example.bookstore.user.repository.UserRepository;
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * 주문 INSERT 가 JDBC 배치로 나가는지 확인
+ * - Hibernate 세션 이벤트로 현재 스레드의 executeBatch 횟수를 센다.
+ * - IDENTITY 였다면 INSERT 마다 개별 실행이라 배치 횟수는 0 이다.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session.events.auto=com.example.bookstore.order.OrderBatchInsertTest$BatchCountingListener")
+class OrderBatchInsertTest {
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    @DisplayName("여러 줄 주문 - orders 1건 + order_items 전체가 각각 배치 한 번으로 INSERT")
+    void createOrder_multiLine_insertsItemsInOneBatch() {
+        Long userId = userRepository.findByEmail("justuser@example.com").orElseThrow().getId();
+        OrderRequestDto.CreateOrderRequest req = new OrderRequestDto.CreateOrderRequest(List.of(
+                new OrderRequestDto.OrderItemRequest(1L, 1),
+                new OrderRequestDto.OrderItemRequest(2L, 1),
+                new OrderRequestDto.OrderItemRequest(3L, 1)
+        ));
+
+        BatchCountingListener.watch(Thread.currentThread());
+        try {
+            OrderService.OrderResponse response = orderService.createOrder(userId, req);
+            assertThat(response.getItems().size(), is(3));
+        } finally {
+            BatchCountingListener.watch(null);
+        }
+
+        assertThat(BatchCountingListener.BATCHES.get(), is(2));
+    }
+
+    public static class BatchCountingListener implements SessionEventListener {
+
+        static final AtomicInteger BATCHES = new AtomicInteger();
+        private static volatile Thread watched;
+
+        static void watch(Thread thread) {
+            if (thread != null) {
+                BATCHES.set(0);
+            }
+            watched = thread;
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            if (Thread.currentThread() == watched) {
+                BATCHES.incrementAndGet();
+            }
+        }
+    }
+}
@@ -1,15 +1,56 @@
 package com.example.bookstore.order;
 
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.entity.BookSales;
+import com.example.bookstore.book.inventory.HotInventory;
+import com.example.bookstore.book.index.BookChangedEvent;
+import com.example.bookstore.book.repository.BookRepository;
+import com.example.bookstore.book.repository.BookSalesRepository;
 import com.example.bookstore.support.IntegrationTestSupport;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 class OrderControllerIntegrationTest extends IntegrationTestSupport {
 
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    BookSalesRepository bookSalesRepository;
+
+    @Autowired
+    HotInventory hotInventory;
+
+    // 테스트 DB 는 실행마다 초기화되지 않으므로, 주문 테스트가 재고 부족으로 실패하지 않게 채워 둔다.
+    // (BookCache/검색 인덱스에도 반영되도록 BookChangedEvent 발행)
+    @BeforeEach
+    void restock() {
+        for (long bookId = 1; bookId <= 3; bookId++) {
+            Book book = bookRepository.findById(bookId).orElseThrow();
+            if (book.getStock() < 100) {
+                book.setStock(1000);
+                bookRepository.save(book);
+                eventPublisher.publishEvent(BookChangedEvent.stockChanged(bookId));
+            }
+        }
+    }
+
     @Test
     @DisplayName("주문 생성 실패 - 토큰 없음")
     void createOrder_fail_unauthenticated() throws Exception {
@@ -48,4 +89,296 @@ class OrderControllerIntegrationTest extends IntegrationTestSupport {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true));
     }
+
+    @Test
+    @DisplayName("주문 생성 성공 - 판매 집계(book_sales)가 주문 수량만큼 정확히 늘고 베스트셀러에 포함")
+    void createOrder_success_updatesBestSellers() throws Exception {
+        long unitsBefore = unitsSold(1L);
+
+        String body = """
+                {
+                  "items": [
+                    { "bookId": 1, "quantity": 2 }
+                  ]
+                }
+                """;
+
+        mockMvc.perform(
+                        post("/api/orders")
+                                .header("Authorization", bearer(userAccessToken))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        assertThat(unitsSold(1L), is(unitsBefore + 2));
+
+        mockMvc.perform(
+                        get("/api/books/recommendations")
+                                .param("size", "500")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.bestSellers[*].id", hasItem(1)));
+    }
+
+    private long unitsSold(Long bookId) {
+        return bookSalesRepository.findById(bookId).map(BookSales::getUnitsSold).orElse(0L);
+    }
+
+    @Test
+    @DisplayName("주문 생성 성공 - 커밋 후 트렌드 점수에 반영")
+    void createOrder_success_updatesTrending() throws Exception {
+        String body = """
+                {
+                  "items": [
+                    { "bookId": 2, "quantity": 3 }
+                  ]
+                }
+                """;
+
+        mockMvc.perform(
+                        post("/api/orders")
+                                .header("Authorization", bearer(userAccessToken))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isOk());
+
+        mockMvc.perform(
+                        get("/api/books/trending")
+                                .param("window", "1h")
+                                .param("size", "100")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload[*].id", hasItem(2)));
+    }
+
+    @Test
+    @DisplayName("주문 생성 성공 - 같은 주문의 도서가 서로 같이 산 도서에 포함")
+    void createOrder_success_updatesAlsoBought() throws Exception {
+        String body = """
+                {
+                  "items": [
+                    { "bookId": 1, "quantity": 1 },
+                    { "bookId": 3, "quantity": 1 }
+                  ]
+                }
+                """;
+
+        mockMvc.perform(
+                        post("/api/orders")
+                                .header("Authorization", bearer(userAccessToken))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/books/3/also-bought").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload[*].id", hasItem(1)));
+    }
+
+    @Test
+    @DisplayName("주문 생성 성공 - 같은 도서 여러 줄은 한 줄로 합쳐짐")
+    void createOrder_success_mergesDuplicateBooks() throws Exception {
+        String body = """
+                {
+                  "items": [
+                    { "bookId": 2, "quantity": 1 },
+                    { "bookId": 3, "quantity": 1 },
+                    { "bookId": 2, "quantity": 2 }
+                  ]
+                }
+                """;
+
+        mockMvc.perform(
+                        post("/api/orders")
+                                .header("Authorization", bearer(userAccessToken))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.items.length()").value(2))
+                .andExpect(jsonPath("$.payload.items[0].bookId").value(2))
+                .andExpect(jsonPath("$.payload.items[0].quantity").value(3));
+    }
+
+    @Test
+    @DisplayName("주문 생성 실패 - 없는 도서 id 는 한 번에 모아서 404")
+    void createOrder_fail_missingBooksReportedTogether() throws Exception {
+        String body = """
+                {
+                  "items": [
+                    { "bookId": 1, "quantity": 1 },
+                    { "bookId": 999998, "quantity": 1 },
+                    { "bookId": 999999, "quantity": 1 }
+                  ]
+                }
+                """;
+
+        mockMvc.perform(
+                        post("/api/orders")
+                                .header("Authorization", bearer(userAccessToken))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("BOOK_NOT_FOUND"))
+                .andExpect(jsonPath("$.details.bookIds").value("999998,999999"));
+    }
+
+    @Test
+    @DisplayName("주문 생성 - 같은 Idempotency-Key 재시도는 주문을 다시 만들지 않고 첫 응답 재전송")
+    void createOrder_idempotencyKey_replaysFirstResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = """
+                {
+                  "items": [
+                    { "bookId": 2, "quantity": 1 }
+                  ]
+                }
+                """;
+        int stockBefore = bookRepository.findById(2L).orElseThrow().getStock();
+
+        String first = mockMvc.perform(
+                        post("/api/orders")
+                                .header("Authorization", bearer(userAccessToken))
+                                .header("Idempotency-Key", key)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn().getResponse().getContentAsString();
+
+        String retried = mockMvc.perform(
+                        post("/api/orders")
+                                .header("Authorization", bearer(userAccessToken))
+                                .header("Idempotency-Key", key)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(retried, is(first));
+        assertThat(bookRepository.findById(2L).orElseThrow().getStock(), is(stockBefore - 1));
+    }
+
+    @Test
+    @DisplayName("주문 생성 실패 - 같은 Idempotency-Key 로 다른 본문이면 422")
+    void createOrder_idempotencyKey_fail_differentBody() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(
+                        post("/api/orders")
+                                .header("Authorization", bearer(userAccessToken))
+                                .header("Idempotency-Key", key)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        { "items": [ { "bookId": 2, "quantity": 1 } ] }
+                                        """)
+                )
+                .andExpect(status().isOk());
+
+        mockMvc.perform(
+                        post("/api/orders")
+                                .header("Authorization", bearer(userAccessToken))
+                                .header("Idempotency-Key", key)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        { "items": [ { "bookId": 3, "quantity": 1 } ] }
+                                        """)
+                )
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("주문 생성 실패 - 재고보다 많은 수량이면 409, 주문 전체 롤백")
+    void createOrder_fail_outOfStock() throws Exception {
+        String body = """
+                {
+                  "items": [
+                    { "bookId": 1, "quantity": 1 },
+                    { "bookId": 2, "quantity": 50000 }
+                  ]
+                }
+                """;
+        int stockBefore = bookRepository.findById(1L).orElseThrow().getStock();
+
+        mockMvc.perform(
+                        post("/api/orders")
+                                .header("Authorization", bearer(userAccessToken))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isConflict());
+
+        // 먼저 차감된 1번 도서 재고도 롤백
+        assertThat(bookRepository.findById(1L).orElseThrow().getStock(), is(stockBefore));
+    }
+
+    @Test
+    @DisplayName("핫 재고 모드 - 첫 주문에 lease-size 만큼 임대, 이후 주문은 임대분에서 차감, 모드 해제 시 남은 임대분은 DB 재고로 반납")
+    void createOrder_hotInventory_leasesAndReturnsStock() throws Exception {
+        // restock 으로 재고가 100권 이상이므로 첫 임대는 lease-size(50) 전부
+        int stockBefore = bookRepository.findById(3L).orElseThrow().getStock();
+
+        mockMvc.perform(
+                        put("/api/admin/books/3/hot-inventory")
+                                .header("Authorization", bearer(adminAccessToken))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.bookId").value(3))
+                .andExpect(jsonPath("$.payload.leasedAvailable").value(0));
+
+        try {
+            String body = """
+                    {
+                      "items": [
+                        { "bookId": 3, "quantity": 2 }
+                      ]
+                    }
+                    """;
+
+            for (int i = 0; i < 3; i++) {
+                mockMvc.perform(
+                                post("/api/orders")
+                                        .header("Authorization", bearer(userAccessToken))
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(body)
+                        )
+                        .andExpect(status().isOk());
+            }
+
+            // 3건 x 2권 = 6권은 임대분 50권에서 차감, DB 에서는 임대한 50권만 빠짐
+            expectLeasedAvailable(3L, 44);
+            assertThat(bookRepository.findById(3L).orElseThrow().getStock(), is(stockBefore - 50));
+
+            // 남은 임대분(44)이 두 블록(100) 이하라 reconcile 은 반납하지 않음
+            hotInventory.reconcile();
+            expectLeasedAvailable(3L, 44);
+            assertThat(bookRepository.findById(3L).orElseThrow().getStock(), is(stockBefore - 50));
+        } finally {
+            mockMvc.perform(
+                            delete("/api/admin/books/3/hot-inventory")
+                                    .header("Authorization", bearer(adminAccessToken))
+                    )
+                    .andExpect(status().isOk());
+        }
+
+        // 남은 44권 반납 -> 실제로 팔린 6권만 빠짐
+        assertThat(bookRepository.findById(3L).orElseThrow().getStock(), is(stockBefore - 6));
+    }
+
+    private void expectLeasedAvailable(Long bookId, int expected) throws Exception {
+        mockMvc.perform(
+                        get("/api/admin/books/hot-inventory")
+                                .header("Authorization", bearer(adminAccessToken))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload[?(@.bookId == " + bookId + ")].leasedAvailable", contains(expected)));
+    }
 }
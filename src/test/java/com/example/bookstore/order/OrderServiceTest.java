@@ -1,15 +1,41 @@
 package com.example.bookstore.order;
 
+import com.example.bookstore.book.entity.Book;
+import com.example.bookstore.book.index.BookChangedEvent;
+import com.example.bookstore.book.inventory.HotInventory;
+import com.example.bookstore.book.repository.BookRepository;
+import com.example.bookstore.common.exception.BusinessException;
+import com.example.bookstore.common.exception.ErrorCode;
 import com.example.bookstore.order.dto.OrderRequestDto;
+import com.example.bookstore.order.idempotency.IdempotencyStore;
+import com.example.bookstore.order.repository.IdempotencyRecordRepository;
+import com.example.bookstore.order.repository.OrderRepository;
 import com.example.bookstore.order.service.OrderService;
+import com.example.bookstore.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
@@ -18,6 +44,33 @@ class OrderServiceTest {
     @Autowired
     OrderService orderService;
 
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    HotInventory hotInventory;
+
+    @Autowired
+    IdempotencyStore idempotencyStore;
+
+    @Autowired
+    IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
     @Test
     @DisplayName("주문 생성 실패 - 요청이 null")
     void createOrder_fail_nullRequest() {
@@ -50,4 +103,195 @@ class OrderServiceTest {
                 orderService.createOrder(1L, req)
         );
     }
+
+    @Test
+    @DisplayName("주문 동시 생성 - 구매자 200명이 재고 100권을 사도 초과 판매 없음")
+    void createOrder_concurrentBuyers_noOversell() throws Exception {
+        int originalStock = setStock(1L, 100);
+        try {
+            runConcurrentBuyers(1L, 100, 200);
+            assertThat(bookRepository.findById(1L).orElseThrow().getStock(), is(0));
+        } finally {
+            setStock(1L, originalStock);
+        }
+    }
+
+    @Test
+    @DisplayName("주문 동시 생성 - 핫 재고 모드에서도 구매자 200명 / 재고 100권 초과 판매 없음")
+    void createOrder_concurrentBuyers_hotInventory_noOversell() throws Exception {
+        int originalStock = setStock(1L, 100);
+        hotInventory.enable(1L);
+        try {
+            runConcurrentBuyers(1L, 100, 200);
+        } finally {
+            hotInventory.disable(1L); // 남은 임대분 반납
+            assertThat(bookRepository.findById(1L).orElseThrow().getStock(), is(0));
+            setStock(1L, originalStock);
+        }
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key 동시 중복 요청 - 주문은 한 번만 생성되고 나머지는 같은 응답을 받음")
+    void idempotencyKey_concurrentDuplicates_createOrderOnce() throws Exception {
+        Long userId = userRepository.findByEmail("justuser@example.com").orElseThrow().getId();
+        OrderRequestDto.CreateOrderRequest req = new OrderRequestDto.CreateOrderRequest(
+                List.of(new OrderRequestDto.OrderItemRequest(2L, 1)));
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+        AtomicInteger replayed = new AtomicInteger();
+        Set<String> bodies = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    IdempotencyStore.Result result = idempotencyStore.execute(userId, key, req, recorder -> {
+                        executions.incrementAndGet();
+                        orderService.createOrder(userId, req, recorder::record);
+                    });
+                    if (result.isReplayed()) {
+                        replayed.incrementAndGet();
+                    }
+                    bodies.add(new String(result.getBody(), StandardCharsets.UTF_8));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(executions.get(), is(1));
+        assertThat(replayed.get(), is(7));
+        assertThat(bodies.size(), is(1));
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key - 응답 저장이 실패하면 주문도 롤백되고, 재시도는 주문을 한 번만 생성")
+    void idempotencyKey_recordFails_orderRolledBack_retryCreatesOnce() {
+        Long userId = userRepository.findByEmail("justuser@example.com").orElseThrow().getId();
+        OrderRequestDto.CreateOrderRequest req = new OrderRequestDto.CreateOrderRequest(
+                List.of(new OrderRequestDto.OrderItemRequest(2L, 1)));
+        String key = UUID.randomUUID().toString();
+        int ordersBefore = orderRepository.findByUserIdOrderByCreatedAtDesc(userId).size();
+        int stockBefore = bookRepository.findById(2L).orElseThrow().getStock();
+
+        // 응답 행 저장 직후 커밋 전에 실패 (응답 저장 실패 / 커밋 전 비정상 종료와 같은 상황)
+        assertThrows(IllegalStateException.class, () ->
+                idempotencyStore.execute(userId, key, req, recorder ->
+                        orderService.createOrder(userId, req, response -> {
+                            recorder.record(response);
+                            throw new IllegalStateException("commit failed");
+                        })));
+
+        assertThat(orderRepository.findByUserIdOrderByCreatedAtDesc(userId).size(), is(ordersBefore));
+        assertThat(bookRepository.findById(2L).orElseThrow().getStock(), is(stockBefore));
+
+        IdempotencyStore.Result retried = idempotencyStore.execute(userId, key, req, recorder ->
+                orderService.createOrder(userId, req, recorder::record));
+        IdempotencyStore.Result again = idempotencyStore.execute(userId, key, req, recorder ->
+                orderService.createOrder(userId, req, recorder::record));
+
+        assertThat(retried.isReplayed(), is(false));
+        assertThat(again.isReplayed(), is(true));
+        assertThat(orderRepository.findByUserIdOrderByCreatedAtDesc(userId).size(), is(ordersBefore + 1));
+        assertThat(bookRepository.findById(2L).orElseThrow().getStock(), is(stockBefore - 1));
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key - 다른 인스턴스의 동시 중복 요청은 중복 키로 롤백되고 먼저 커밋된 응답을 받음")
+    void idempotencyKey_duplicateAcrossInstances_createOrderOnce() throws Exception {
+        Long userId = userRepository.findByEmail("justuser@example.com").orElseThrow().getId();
+        OrderRequestDto.CreateOrderRequest req = new OrderRequestDto.CreateOrderRequest(
+                List.of(new OrderRequestDto.OrderItemRequest(2L, 1)));
+        String key = UUID.randomUUID().toString();
+        int stockBefore = bookRepository.findById(2L).orElseThrow().getStock();
+
+        // 인스턴스마다 따로 있는 메모리 캐시/진행 중 맵을 흉내 내기 위해 저장소를 두 개 만든다.
+        List<IdempotencyStore> instances = List.of(newIdempotencyStore(), newIdempotencyStore());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<IdempotencyStore.Result>> futures = new ArrayList<>();
+            for (IdempotencyStore instance : instances) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return instance.execute(userId, key, req, recorder ->
+                            orderService.createOrder(userId, req, recorder::record));
+                }));
+            }
+            start.countDown();
+
+            IdempotencyStore.Result first = futures.get(0).get(30, TimeUnit.SECONDS);
+            IdempotencyStore.Result second = futures.get(1).get(30, TimeUnit.SECONDS);
+            assertThat(first.isReplayed() != second.isReplayed(), is(true));
+            assertThat(new String(first.getBody(), StandardCharsets.UTF_8),
+                    is(new String(second.getBody(), StandardCharsets.UTF_8)));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(bookRepository.findById(2L).orElseThrow().getStock(), is(stockBefore - 1));
+    }
+
+    private IdempotencyStore newIdempotencyStore() {
+        return new IdempotencyStore(idempotencyRecordRepository, transactionTemplate, objectMapper,
+                86_400_000L, 100, 10_000L);
+    }
+
+    // buyers 명이 동시에 1권씩 주문 -> 정확히 stock 건만 성공, 나머지는 OUT_OF_STOCK
+    private void runConcurrentBuyers(Long bookId, int stock, int buyers) throws Exception {
+        Long userId = userRepository.findByEmail("justuser@example.com").orElseThrow().getId();
+        OrderRequestDto.CreateOrderRequest req = new OrderRequestDto.CreateOrderRequest(
+                List.of(new OrderRequestDto.OrderItemRequest(bookId, 1)));
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger outOfStock = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < buyers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.createOrder(userId, req);
+                        succeeded.incrementAndGet();
+                    } catch (BusinessException e) {
+                        if (e.getErrorCode() != ErrorCode.OUT_OF_STOCK) {
+                            throw e;
+                        }
+                        outOfStock.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS); // 재고 부족 외의 예외(데드락 등)는 여기서 실패
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(succeeded.get(), is(stock));
+        assertThat(outOfStock.get(), is(buyers - stock));
+    }
+
+    // 재고를 stock 으로 맞추고 이전 재고 반환 (BookCache/검색 인덱스도 같이 갱신)
+    private int setStock(Long bookId, int stock) {
+        Book book = bookRepository.findById(bookId).orElseThrow();
+        int previous = book.getStock();
+        book.setStock(stock);
+        bookRepository.save(book);
+        eventPublisher.publishEvent(BookChangedEvent.stockChanged(bookId));
+        return previous;
+    }
 }
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
 
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -72,4 +73,25 @@ class UserControllerTest extends IntegrationTestSupport {
                 )
                 .andExpect(status().is4xxClientError());
     }
+
+    @Test
+    @DisplayName("내 맞춤 추천 조회 성공 - 로그인 상태")
+    void getMyRecommendations_success() throws Exception {
+        mockMvc.perform(
+                        get("/api/user/recommendations")
+                                .header("Authorization", bearer(userAccessToken))
+                                .param("size", "5")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.payload.personalized").isBoolean())
+                .andExpect(jsonPath("$.payload.books.length()").value(lessThanOrEqualTo(5)));
+    }
+
+    @Test
+    @DisplayName("내 맞춤 추천 조회 실패 - 토큰 없음")
+    void getMyRecommendations_unauthenticated() throws Exception {
+        mockMvc.perform(get("/api/user/recommendations"))
+                .andExpect(status().is4xxClientError());
+    }
 }